@@ -0,0 +1,36 @@
+package com.secure.notes.benchmark;
+
+import com.secure.notes.security.jwt.JwtUtils;
+import com.secure.notes.security.services.UserDetailsImpl;
+import com.secure.notes.security.services.UserSecurityVersions;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+// 스프링 컨텍스트 없이 벤치마크 대상 객체를 만든다. (application.properties 와 같은 값)
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "mySecretKey123912738aopsgjnspkmndfsopkvajoirjg94gf2opfng2moknm";
+    static final int JWT_EXPIRATION_MS = 172800000;
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtUtils jwtUtils(UserSecurityVersions securityVersions) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtKeyId", "primary");
+        ReflectionTestUtils.setField(jwtUtils, "jwtAdditionalKeys", "");
+        ReflectionTestUtils.setField(jwtUtils, "jwtActiveKeyId", "");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", JWT_EXPIRATION_MS);
+        ReflectionTestUtils.setField(jwtUtils, "securityVersions", securityVersions);
+        jwtUtils.initKeyRing();
+        return jwtUtils;
+    }
+
+    static UserDetailsImpl user() {
+        return new UserDetailsImpl(1L, "user1", "user1@example.com", null, false,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
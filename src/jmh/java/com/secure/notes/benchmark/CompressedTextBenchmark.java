@@ -0,0 +1,75 @@
+package com.secure.notes.benchmark;
+
+import com.secure.notes.util.CompressedTextConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 노트 내용 압축 저장 비용과 크기 (Note.content, AuditLog.noteContent)
+// 카운터 rawChars / storedChars 의 비율이 DB 에 저장되는 크기 비율이다.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressedTextBenchmark {
+
+    private static final String[] WORDS = {"note", "secure", "spring", "token", "password", "user", "audit",
+            "메모", "보안", "저장", "the", "and", "with", "for", "update", "create", "delete", "list", "search"};
+
+    // 노트 내용 길이 (글자)
+    @Param({"1024", "65536", "1048576"})
+    public int contentLength;
+
+    private String content;
+    private String stored;
+
+    // 인코딩 한번당 원문/저장 글자수
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+        public long rawChars;
+        public long storedChars;
+    }
+
+    @Setup
+    public void setup() {
+        content = markdown(contentLength, new Random(42));
+        stored = CompressedTextConverter.encode(content);
+    }
+
+    @Benchmark
+    public String encode(Sizes sizes) {
+        String encoded = CompressedTextConverter.encode(content);
+        sizes.rawChars += content.length();
+        sizes.storedChars += encoded.length();
+        return encoded;
+    }
+
+    @Benchmark
+    public String decode() {
+        return CompressedTextConverter.decode(stored);
+    }
+
+    // 마크다운 비슷한 내용 (제목, 목록, 문단)
+    private static String markdown(int length, Random random) {
+        StringBuilder text = new StringBuilder(length + 64);
+        int line = 0;
+        while (text.length() < length) {
+            if (line % 12 == 0) {
+                text.append("## ");
+            } else if (line % 3 == 0) {
+                text.append("- ");
+            }
+            int words = 5 + random.nextInt(10);
+            for (int i = 0; i < words; i++) {
+                text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            text.append('\n');
+            line++;
+        }
+        return text.substring(0, length);
+    }
+}
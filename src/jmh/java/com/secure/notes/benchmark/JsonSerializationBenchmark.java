@@ -0,0 +1,84 @@
+package com.secure.notes.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secure.notes.dtos.UserDTO;
+import com.secure.notes.models.AppRole;
+import com.secure.notes.models.AuditLog;
+import com.secure.notes.models.Note;
+import com.secure.notes.models.Role;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 목록 응답 JSON 직렬화 비용 (스프링 부트와 같은 ObjectMapper 설정)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    // 노트 한개 내용 길이
+    @Param({"1024"})
+    public int contentLength;
+
+    private ObjectMapper mapper;
+    private List<Note> notes;
+    private List<AuditLog> auditLogs;
+    private List<UserDTO> users;
+
+    @Setup
+    public void setup() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        String content = "a".repeat(contentLength);
+        Role role = new Role(AppRole.ROLE_USER);
+        role.setRoleId(1);
+        notes = new ArrayList<>();
+        auditLogs = new ArrayList<>();
+        users = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Note note = new Note();
+            note.setId((long) i);
+            note.setContent(content);
+            note.setOwnerUsername("user1");
+            notes.add(note);
+
+            AuditLog log = new AuditLog();
+            log.setId((long) i);
+            log.setAction("UPDATE");
+            log.setUsername("user1");
+            log.setNoteId((long) i);
+            log.setNoteContent(content);
+            log.setTimestamp(LocalDateTime.now());
+            auditLogs.add(log);
+
+            users.add(new UserDTO((long) i, "user" + i, "user" + i + "@example.com", true, true, true, true,
+                    LocalDate.now().plusYears(1), LocalDate.now().plusYears(1), null, false, "email", role,
+                    LocalDateTime.now(), LocalDateTime.now()));
+        }
+    }
+
+    @Benchmark
+    public byte[] notes() throws Exception {
+        return mapper.writeValueAsBytes(notes);
+    }
+
+    @Benchmark
+    public byte[] auditLogs() throws Exception {
+        return mapper.writeValueAsBytes(auditLogs);
+    }
+
+    @Benchmark
+    public byte[] users() throws Exception {
+        return mapper.writeValueAsBytes(users);
+    }
+}
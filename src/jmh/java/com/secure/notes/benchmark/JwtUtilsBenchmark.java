@@ -0,0 +1,69 @@
+package com.secure.notes.benchmark;
+
+import com.secure.notes.security.jwt.JwtUtils;
+import com.secure.notes.security.services.UserDetailsImpl;
+import com.secure.notes.security.services.UserSecurityVersions;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// JwtUtils 토큰 발행/검증 + 키링(재사용) vs 호출마다 키/파서 생성 비교
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilsBenchmark {
+
+    private JwtUtils jwtUtils;
+    private UserDetailsImpl user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtils = BenchmarkFixtures.jwtUtils(new UserSecurityVersions());
+        user = BenchmarkFixtures.user();
+        token = jwtUtils.generateTokenFromUsername(user);
+    }
+
+    @Benchmark
+    public String generateTokenFromUsername() {
+        return jwtUtils.generateTokenFromUsername(user);
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String getUserNameFromJwtToken() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+
+    // 예전 방식: 서명할때마다 키를 새로 만듦
+    @Benchmark
+    public String generatePerCallKey() {
+        return Jwts.builder()
+                .subject(user.getUsername())
+                .claim("roles", "ROLE_USER")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + BenchmarkFixtures.JWT_EXPIRATION_MS))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(BenchmarkFixtures.JWT_SECRET)))
+                .compact();
+    }
+
+    // 예전 방식: 검증할때마다 키와 파서를 새로 만듦
+    @Benchmark
+    public String parsePerCallParser() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(BenchmarkFixtures.JWT_SECRET)))
+                .build().parseSignedClaims(token)
+                .getPayload().getSubject();
+    }
+}
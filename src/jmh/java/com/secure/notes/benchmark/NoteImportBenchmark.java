@@ -0,0 +1,85 @@
+package com.secure.notes.benchmark;
+
+import com.secure.notes.NotesApplication;
+import com.secure.notes.services.NoteService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 노트 1만개 가져오기 속도 (rows/s): 한개씩 저장 vs POST /api/notes/batch 와 같은 일괄 저장
+// application.properties 의 MySQL 이 떠 있어야 한다. (./gradlew jmh -PjmhIncludes=NoteImportBenchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(NoteImportBenchmark.ROWS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 30)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NoteImportBenchmark {
+
+    static final int ROWS = 10_000;
+    private static final String OWNER = "jmh-import";
+
+    // 노트 한개 내용 길이 (4096 은 압축 저장 대상)
+    @Param({"200", "4096"})
+    public int contentLength;
+
+    // 일괄 요청 한번의 개수 (spring.app.notes.maxBatchSize 이하)
+    @Param({"1000"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private NoteService noteService;
+    private JdbcTemplate jdbcTemplate;
+    private List<String> contents;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(NotesApplication.class)
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.springframework.security=WARN",
+                        "spring.app.notes.cache.maxBytes=0")
+                .run();
+        noteService = context.getBean(NoteService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String content = "a".repeat(contentLength);
+        contents = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            contents.add(content);
+        }
+        cleanUp();
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUp() {
+        jdbcTemplate.update("delete from audit_log where username = ?", OWNER);
+        jdbcTemplate.update("delete from note where owner_username = ?", OWNER);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        context.close();
+    }
+
+    // 예전 방식: 노트마다 save + 감사로그 save
+    @Benchmark
+    public void perNote() {
+        for (String content : contents) {
+            noteService.createNoteForUser(OWNER, content);
+        }
+    }
+
+    // batchSize 개씩 saveAll (jdbc 배치 insert)
+    @Benchmark
+    public void batch() {
+        for (int from = 0; from < ROWS; from += batchSize) {
+            noteService.createNotesForUser(OWNER, contents.subList(from, Math.min(from + batchSize, ROWS)));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.secure.notes.benchmark;
+
+import com.secure.notes.security.jwt.AuthTokenFilter;
+import com.secure.notes.security.jwt.JwtTokenCache;
+import com.secure.notes.security.jwt.JwtUtils;
+import com.secure.notes.security.services.CustomLoggingFilter;
+import com.secure.notes.security.services.UserDetailsImpl;
+import com.secure.notes.security.services.UserDetailsServiceImpl;
+import com.secure.notes.security.services.UserSecurityVersions;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// 인증된 GET /api/notes 요청 하나가 AuthTokenFilter + CustomLoggingFilter 를 지나는 비용
+// (유저 조회는 DB 대신 메모리 객체를 돌려주는 스텁)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecurityFilterBenchmark {
+
+    // 0 이면 검증 토큰 캐시 사용 안함
+    @Param({"0", "10000"})
+    public int tokenCacheSize;
+
+    @Param({"false", "true"})
+    public boolean statelessPrincipal;
+
+    private AuthTokenFilter authTokenFilter;
+    private CustomLoggingFilter loggingFilter;
+    private HttpServlet servlet;
+    private String authorization;
+
+    @Setup
+    public void setup() {
+        UserSecurityVersions securityVersions = new UserSecurityVersions();
+        JwtUtils jwtUtils = BenchmarkFixtures.jwtUtils(securityVersions);
+        UserDetailsImpl user = BenchmarkFixtures.user();
+
+        JwtTokenCache tokenCache = new JwtTokenCache();
+        ReflectionTestUtils.setField(tokenCache, "maxSize", tokenCacheSize);
+
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl() {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return user;
+            }
+        };
+
+        authTokenFilter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(authTokenFilter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(authTokenFilter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(authTokenFilter, "tokenCache", tokenCache);
+        ReflectionTestUtils.setField(authTokenFilter, "securityVersions", securityVersions);
+        ReflectionTestUtils.setField(authTokenFilter, "statelessPrincipal", statelessPrincipal);
+        loggingFilter = new CustomLoggingFilter();
+        servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                resp.setStatus(HttpServletResponse.SC_OK);
+            }
+        };
+        authorization = "Bearer " + jwtUtils.generateTokenFromUsername(user);
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/notes");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            new MockFilterChain(servlet, loggingFilter, authTokenFilter).doFilter(request, response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+}
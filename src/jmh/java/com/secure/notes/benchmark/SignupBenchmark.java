@@ -0,0 +1,97 @@
+package com.secure.notes.benchmark;
+
+import com.secure.notes.NotesApplication;
+import com.secure.notes.controllers.AuthController;
+import com.secure.notes.models.AppRole;
+import com.secure.notes.models.User;
+import com.secure.notes.repositories.RoleRepository;
+import com.secure.notes.repositories.UserRepository;
+import com.secure.notes.security.request.SignupRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 동시 회원가입 처리량 (signups/s): 예전 방식(중복검사 2번 + 권한조회 + 저장) vs 단일 insert (AuthController)
+// application.properties 의 MySQL 이 떠 있어야 한다. (./gradlew jmh -PjmhIncludes=SignupBenchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Threads(32)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignupBenchmark {
+
+    private static final String PREFIX = "jmhsignup";
+
+    private final AtomicLong counter = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private AuthController authController;
+    private UserRepository userRepository;
+    private RoleRepository roleRepository;
+    private PasswordEncoder encoder;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(NotesApplication.class)
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.springframework.security=WARN",
+                        "spring.app.bcrypt.strength=4",
+                        "spring.app.passwordHash.queueCapacity=1000")
+                .run();
+        authController = context.getBean(AuthController.class);
+        userRepository = context.getBean(UserRepository.class);
+        roleRepository = context.getBean(RoleRepository.class);
+        encoder = context.getBean(PasswordEncoder.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        cleanUp();
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUp() {
+        jdbcTemplate.update("delete from users where username like ?", PREFIX + "%");
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> legacy() {
+        SignupRequest request = nextRequest();
+        if (userRepository.existsByUserName(request.getUsername())) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (userRepository.existsByEmail(request.getEmail())) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = new User(request.getUsername(), request.getEmail(), encoder.encode(request.getPassword()));
+        user.setRole(roleRepository.findByRoleName(AppRole.ROLE_USER).orElseThrow());
+        userRepository.save(user);
+        return ResponseEntity.ok().build();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> singleInsert() {
+        return authController.registerUser(nextRequest());
+    }
+
+    private SignupRequest nextRequest() {
+        String username = PREFIX + counter.incrementAndGet();
+        SignupRequest request = new SignupRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setPassword("password1");
+        return request;
+    }
+}
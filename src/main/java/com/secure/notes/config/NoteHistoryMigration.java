@@ -0,0 +1,80 @@
+package com.secure.notes.config;
+
+import com.secure.notes.models.AuditLog;
+import com.secure.notes.repositories.AuditLogRepository;
+import com.secure.notes.util.NoteHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// 전체 내용 사본을 들고 있는 예전 감사로그를 노트 이력(스냅샷 + 델타)으로 옮긴다. (설정으로 켰을때만)
+// 노트 하나씩 트랜잭션으로 처리하므로 중간에 멈춰도 다음 구동때 남은 로그부터 이어서 한다.
+@Component
+public class NoteHistoryMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteHistoryMigration.class);
+    private static final int PAGE_SIZE = 200;
+
+    @Value("${spring.app.notes.history.migrateLegacy:false}")
+    private boolean enabled;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private NoteHistory noteHistory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<Long> noteIds = auditLogRepository.findLegacyContentNoteIds();
+        int migrated = 0;
+        for (Long noteId : noteIds) {
+            try {
+                Integer count = transactionTemplate.execute(status -> migrateNote(noteId));
+                migrated += count != null ? count : 0;
+            } catch (RuntimeException e) {
+                logger.error("Failed to migrate audit history for note {}", noteId, e);
+            }
+        }
+        if (migrated > 0) {
+            logger.info("Moved {} audit log contents into note history ({} notes)", migrated, noteIds.size());
+        }
+    }
+
+    // 예전 로그를 id 순서대로 이력에 쌓고 로그에는 리비전 id 만 남긴다.
+    private int migrateNote(Long noteId) {
+        NoteHistory.Head head = null;
+        long lastId = 0;
+        int count = 0;
+        List<AuditLog> logs;
+        do {
+            logs = auditLogRepository.findLegacyContentAfter(noteId, lastId, Limit.of(PAGE_SIZE));
+            for (AuditLog log : logs) {
+                head = noteHistory.append(noteId, log.getNoteContent(), log.getBlobRef(), log.getTimestamp(), head);
+                log.setRevisionId(head.revisionId());
+                log.setNoteContent(null);
+                log.setBlobRef(null);
+                lastId = log.getId();
+                count++;
+            }
+            auditLogRepository.saveAll(logs);
+        } while (logs.size() == PAGE_SIZE);
+        return count;
+    }
+}
@@ -0,0 +1,89 @@
+package com.secure.notes.config;
+
+import com.secure.notes.repositories.NoteRepository;
+import com.secure.notes.repositories.NoteTombstoneRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// ddl-auto=update 로 새로 생긴 노트 컬럼을 예전 행에 채운다. (요청을 받기 전, 구동 중에 실행)
+@Component
+public class NoteSchemaMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteSchemaMigration.class);
+
+    // Note, AuditLog 의 @SequenceGenerator allocationSize 와 같은 값
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private NoteTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        int updated = noteRepository.backfillUpdatedDate(LocalDateTime.now());
+        if (updated > 0) {
+            logger.info("Backfilled updatedDate for {} notes", updated);
+        }
+        int versioned = noteRepository.backfillVersion();
+        if (versioned > 0) {
+            logger.info("Backfilled version for {} notes", versioned);
+        }
+        int sequenced = noteRepository.backfillChangeSeq();
+        if (sequenced > 0) {
+            logger.info("Backfilled changeSeq for {} notes", sequenced);
+        }
+        widenAuditContentColumn();
+        createChangeSequence();
+        alignIdSequence("note_seq", "note");
+        alignIdSequence("audit_log_seq", "audit_log");
+    }
+
+    // ddl-auto=update 는 컬럼 타입을 바꾸지 않으므로 varchar(255) 로 만들어진 감사로그 내용 컬럼을 직접 넓힌다. (@Lob)
+    private void widenAuditContentColumn() {
+        List<String> types = jdbcTemplate.queryForList("select data_type from information_schema.columns "
+                + "where table_schema = database() and table_name = 'audit_log' and column_name = 'note_content'",
+                String.class);
+        if (!types.isEmpty() && "varchar".equalsIgnoreCase(types.get(0))) {
+            jdbcTemplate.execute("alter table audit_log modify note_content longtext");
+            logger.info("Widened audit_log.note_content to longtext");
+        }
+    }
+
+    // 노트 변경 순번 테이블 (NoteChangeSequence 가 블록 단위로 가져감)
+    // 처음 만들때와 순번이 기존 행보다 뒤처져 있을때는 note / note_tombstone 의 최대 change_seq 뒤로 옮긴다.
+    private void createChangeSequence() {
+        jdbcTemplate.execute("create table if not exists note_change_seq (next_val bigint not null)");
+        long floor = Math.max(noteRepository.findMaxChangeSeq(), tombstoneRepository.findMaxChangeSeq()) + 1;
+        Integer rows = jdbcTemplate.queryForObject("select count(*) from note_change_seq", Integer.class);
+        if (rows == null || rows == 0) {
+            jdbcTemplate.update("insert into note_change_seq (next_val) values (?)", floor);
+            logger.info("Created note_change_seq (next_val={})", floor);
+        } else if (jdbcTemplate.update("update note_change_seq set next_val = ? where next_val < ?", floor, floor) > 0) {
+            logger.info("Moved note_change_seq past existing changes (next_val={})", floor);
+        }
+    }
+
+    // IDENTITY 로 만들어진 기존 행과 id 가 겹치지 않도록 시퀀스 테이블을 max(id) 뒤로 옮긴다.
+    // (pooled 방식은 next_val - 49 부터 쓰므로 한 블록만큼 더 띄움)
+    private void alignIdSequence(String sequenceTable, String entityTable) {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + entityTable, Long.class);
+        long floor = (maxId != null ? maxId : 0L) + ID_ALLOCATION_SIZE + 1;
+        int updated = jdbcTemplate.update("update " + sequenceTable + " set next_val = ? where next_val < ?",
+                floor, floor);
+        if (updated > 0) {
+            logger.info("Moved {} past existing {} ids (next_val={})", sequenceTable, entityTable, floor);
+        }
+    }
+}
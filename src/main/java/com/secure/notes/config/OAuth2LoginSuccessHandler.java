@@ -1,9 +1,6 @@
 package com.secure.notes.config;
 
-import com.secure.notes.models.AppRole;
-import com.secure.notes.models.Role;
 import com.secure.notes.models.User;
-import com.secure.notes.repositories.RoleRepository;
 import com.secure.notes.security.jwt.JwtUtils;
 import com.secure.notes.security.services.UserDetailsImpl;
 import com.secure.notes.services.UserService;
@@ -11,6 +8,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -24,116 +23,71 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
 
+// 싱글톤이므로 요청별 값(유저네임, id 속성키, 리다이렉트 주소)은 필드가 아닌 지역변수로만 다룬다.
 @Component
 @RequiredArgsConstructor
 public class OAuth2LoginSuccessHandler extends SavedRequestAwareAuthenticationSuccessHandler {
 
+    private static final Logger logger = LoggerFactory.getLogger(OAuth2LoginSuccessHandler.class);
+
     @Autowired
     private final UserService userService;  // 유저가 있는지 찾기 위해
 
     @Autowired
     private final JwtUtils jwtUtils;    // 토큰발행
 
-    @Autowired
-    RoleRepository roleRepository;     // 유저권한
-
     @Value("${frontend.url}")
     private String frontendUrl; //프론트엔드로 리다이렉트 위한 주소
 
-    String username;
-    String idAttributeKey;
-
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication) throws ServletException, IOException {
         // 소셜사이트 인증 성공시 받은 토큰   ?code=토큰
         OAuth2AuthenticationToken oAuth2AuthenticationToken = (OAuth2AuthenticationToken) authentication;
+        String registrationId = oAuth2AuthenticationToken.getAuthorizedClientRegistrationId();
+        DefaultOAuth2User principal = (DefaultOAuth2User) authentication.getPrincipal();
+        Map<String, Object> attributes = principal.getAttributes();
+        String email = attributes.getOrDefault("email", "").toString();
+
+        User user;
         // 받은 토큰이 깃허브 또는 구글과 같으면
-        if ("github".equals(oAuth2AuthenticationToken.getAuthorizedClientRegistrationId()) || "google".equals(oAuth2AuthenticationToken.getAuthorizedClientRegistrationId())) {
-            DefaultOAuth2User principal = (DefaultOAuth2User) authentication.getPrincipal();
-            Map<String, Object> attributes = principal.getAttributes();
-            System.out.println("OAuth2 User Attributes: " + attributes);
-            String email = attributes.getOrDefault("email", "").toString();
-            String name = attributes.getOrDefault("name", "").toString();
-            if ("github".equals(oAuth2AuthenticationToken.getAuthorizedClientRegistrationId())) {
+        if ("github".equals(registrationId) || "google".equals(registrationId)) {
+            String username;
+            String idAttributeKey;
+            if ("github".equals(registrationId)) {
                 username = attributes.getOrDefault("login", "").toString();
                 idAttributeKey = "id";
-            } else if ("google".equals(oAuth2AuthenticationToken.getAuthorizedClientRegistrationId())) {
+            } else {
                 username = email.split("@")[0];
                 idAttributeKey = "sub";
-            } else {
-                username = "";
-                idAttributeKey = "id";
             }
-            // 로그로 이메일 이름 유저네임 출력(oauth2 인증시)
-            System.out.println("HELLO OAUTH: " + email + " : " + name + " : " + username);
-            // 이메일로 유저를 찾는 서비스 필요(가입 되어 있는지 확인)
-            userService.findByEmail(email)
-                    .ifPresentOrElse(user -> {
-                        DefaultOAuth2User oauthUser = new DefaultOAuth2User(
-                                List.of(new SimpleGrantedAuthority(user.getRole().getRoleName().name())),
-                                attributes,
-                                idAttributeKey
-                        );
-                        Authentication securityAuth = new OAuth2AuthenticationToken(
-                                oauthUser,
-                                List.of(new SimpleGrantedAuthority(user.getRole().getRoleName().name())),
-                                oAuth2AuthenticationToken.getAuthorizedClientRegistrationId()
-                        );
-                        // 유저 DB에서 찾은 유저로 시큐리티 업데이트(인증됨)
-                        SecurityContextHolder.getContext().setAuthentication(securityAuth);
-                    }, () -> {
-                        // 유저를 DB에서 찾지 못했을경우
-                        User newUser = new User();
-                        Optional<Role> userRole = roleRepository.findByRoleName(AppRole.ROLE_USER); // 유저 권한 주기
-                        if (userRole.isPresent()) {
-                            newUser.setRole(userRole.get());
-                        } else {
-                            // DB에 유저 권한이 없을 경우 에러
-                            throw new RuntimeException("Default role not found");
-                        }
-                        newUser.setEmail(email);
-                        newUser.setUserName(username);
-                        newUser.setSignUpMethod(oAuth2AuthenticationToken.getAuthorizedClientRegistrationId());
-                        userService.registerUser(newUser);  //신규유저인데 oauth2로 가입
-                        DefaultOAuth2User oauthUser = new DefaultOAuth2User(
-                                List.of(new SimpleGrantedAuthority(newUser.getRole().getRoleName().name())),
-                                attributes,
-                                idAttributeKey
-                        );
-                        Authentication securityAuth = new OAuth2AuthenticationToken(
-                                oauthUser,
-                                List.of(new SimpleGrantedAuthority(newUser.getRole().getRoleName().name())),
-                                oAuth2AuthenticationToken.getAuthorizedClientRegistrationId()
-                        );
-                        // 시큐리티에 인증 업데이트
-                        SecurityContextHolder.getContext().setAuthentication(securityAuth);
-                    });
-        }
-        this.setAlwaysUseDefaultTargetUrl(true);
+            logger.debug("OAuth2 login: provider={}, username={}", registrationId, username);
 
-        // JWT TOKEN LOGIC
-        DefaultOAuth2User oauth2User = (DefaultOAuth2User) authentication.getPrincipal();
-        Map<String, Object> attributes = oauth2User.getAttributes();
+            // 이메일로 유저를 한번만 조회해서 없으면 가입 (이후 jwt 발행에도 같은 유저 사용)
+            user = userService.provisionOAuthUser(registrationId, email, username);
 
-        // attributes에서 필요한 정보를 가져온다.
-        String email = (String) attributes.get("email");
-        System.out.println("OAuth2LoginSuccessHandler: " + username + " : " + email);
+            List<SimpleGrantedAuthority> roleAuthorities =
+                    List.of(new SimpleGrantedAuthority(user.getRole().getRoleName().name()));
+            DefaultOAuth2User oauthUser = new DefaultOAuth2User(roleAuthorities, attributes, idAttributeKey);
+            Authentication securityAuth = new OAuth2AuthenticationToken(oauthUser, roleAuthorities, registrationId);
+            // 유저 DB에서 찾은 유저로 시큐리티 업데이트(인증됨)
+            SecurityContextHolder.getContext().setAuthentication(securityAuth);
+        } else {
+            user = userService.findByEmail(email).orElseThrow(
+                    () -> new RuntimeException("User not found"));
+        }
 
-        // 유저의 권한은 이메일로 유저를 DB에서 찾아 권한을 가져온다.
-        Set<SimpleGrantedAuthority> authorities = new HashSet<>(oauth2User.getAuthorities().stream()
-                .map(authority -> new SimpleGrantedAuthority(authority.getAuthority()))
-                .collect(Collectors.toList()));
-        User user = userService.findByEmail(email).orElseThrow(
-                () -> new RuntimeException("User not found"));
+        // JWT TOKEN LOGIC
+        // 유저의 권한은 소셜 인증 권한 + DB 유저 권한
+        Set<SimpleGrantedAuthority> authorities = new HashSet<>();
+        principal.getAuthorities().forEach(authority -> authorities.add(new SimpleGrantedAuthority(authority.getAuthority())));
         authorities.add(new SimpleGrantedAuthority(user.getRole().getRoleName().name()));
 
         // 상세유저 객체를 생성
         UserDetailsImpl userDetails = new UserDetailsImpl(
-                null,
-                username,
-                email,
+                user.getUserId(),
+                user.getUserName(),
+                user.getEmail(),
                 null,
                 false,
                 authorities
@@ -143,10 +97,11 @@ public class OAuth2LoginSuccessHandler extends SavedRequestAwareAuthenticationSu
         String jwtToken = jwtUtils.generateTokenFromUsername(userDetails);
 
         // 인증과 jwt토큰 발행이 끝났으므로 다시 프론트 주소로 리다이렉트 (토큰 포함)
+        // setDefaultTargetUrl 은 공유 필드라 동시 로그인시 다른 유저의 토큰으로 리다이렉트 될 수 있어 직접 리다이렉트
         String targetUrl = UriComponentsBuilder.fromUriString(frontendUrl + "/oauth2/redirect")
                 .queryParam("token", jwtToken)
                 .build().toUriString();
-        this.setDefaultTargetUrl(targetUrl);
-        super.onAuthenticationSuccess(request, response, authentication);
+        clearAuthenticationAttributes(request);
+        getRedirectStrategy().sendRedirect(request, response, targetUrl);
     }
-}
\ No newline at end of file
+}
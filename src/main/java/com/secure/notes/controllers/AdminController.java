@@ -1,16 +1,25 @@
 package com.secure.notes.controllers;
 
 import com.secure.notes.dtos.UserDTO;
+import com.secure.notes.exceptions.PasswordHashingRejectedException;
 import com.secure.notes.models.Role;
 import com.secure.notes.models.User;
+import com.secure.notes.security.services.LoginRateLimiter;
 import com.secure.notes.services.UserService;
+import com.secure.notes.util.AuditLogWriter;
+import com.secure.notes.util.NoteCache;
+import com.secure.notes.util.NoteChangeBroadcaster;
+import com.secure.notes.util.NoteSearchIndex;
+import com.secure.notes.util.NoteWriteCoalescer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -20,6 +29,24 @@ public class AdminController {
     @Autowired
     UserService userService;
 
+    @Autowired
+    LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    NoteCache noteCache;
+
+    @Autowired
+    NoteWriteCoalescer noteWriteCoalescer;
+
+    @Autowired
+    NoteChangeBroadcaster noteChangeBroadcaster;
+
+    @Autowired
+    NoteSearchIndex noteSearchIndex;
+
+    @Autowired
+    AuditLogWriter auditLogWriter;
+
     //유저의 목록을 가져온다.
     @GetMapping("/getusers")
     public ResponseEntity<List<User>> getAllUsers() {
@@ -80,8 +107,41 @@ public class AdminController {
         try {
             userService.updatePassword(userId, password);
             return ResponseEntity.ok("Password updated");
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
+
+    // 로그인 요청제한 거절 통계 (공격 모니터링)
+    @GetMapping("/login-throttle")
+    public Map<String, Object> getLoginThrottleStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rejections", loginRateLimiter.getRejectionCounts());
+        stats.put("trackedKeys", loginRateLimiter.getTrackedKeys());
+        return stats;
+    }
+
+    // 노트 목록 캐시 통계 (적중률, 메모리 사용량)
+    @GetMapping("/note-cache")
+    public Map<String, Object> getNoteCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(noteCache.getStats());
+        stats.put("pendingWrites", noteWriteCoalescer.getPendingCount());
+        stats.put("streamConnections", noteChangeBroadcaster.getConnectionCount());
+        stats.put("streamDropped", noteChangeBroadcaster.getDroppedCount());
+        return stats;
+    }
+
+    // 노트 검색 색인 크기
+    @GetMapping("/note-search")
+    public Map<String, Object> getNoteSearchStats() {
+        return noteSearchIndex.getStats();
+    }
+
+    // 감사로그 저장 큐 상태 (대기 개수, 배치 크기, 꽉 차서 직접 저장/버린 개수)
+    @GetMapping("/audit-writer")
+    public Map<String, Object> getAuditWriterStats() {
+        return auditLogWriter.getStats();
+    }
 }
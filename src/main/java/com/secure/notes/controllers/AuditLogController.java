@@ -1,14 +1,23 @@
 package com.secure.notes.controllers;
 
+import com.secure.notes.dtos.AuditLogSummary;
 import com.secure.notes.models.AuditLog;
 import com.secure.notes.services.AuditLogService;
+import com.secure.notes.util.ContentVersions;
+import com.secure.notes.util.NoteBlobStore;
+import com.secure.notes.util.NoteHistory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -18,6 +27,12 @@ public class AuditLogController {
     @Autowired
     AuditLogService auditLogService;
 
+    @Autowired
+    ContentVersions contentVersions;
+
+    @Autowired
+    NoteBlobStore blobStore;
+
     @GetMapping
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public List<AuditLog> getAuditLogs() {
@@ -26,7 +41,31 @@ public class AuditLogController {
 
     @GetMapping("/note/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public List<AuditLog> getNoteAuditLogs(@PathVariable Long id){
+    public List<AuditLogSummary> getNoteAuditLogs(@PathVariable Long id, WebRequest webRequest){
+        // 새 로그가 없으면 DB 조회 없이 304 (If-None-Match)
+        if (webRequest.checkNotModified(contentVersions.auditTag(id))) {
+            return null;
+        }
         return auditLogService.getAuditLogsForNoteId(id);
     }
+
+    // 로그 시점의 노트 전체 내용 (평문, 이력에서 복원)
+    @GetMapping("/{id}/content")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public void getAuditLogContent(@PathVariable Long id, HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        NoteHistory.Content content = auditLogService.getAuditLogContent(id).orElse(null);
+        if (content == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.setContentType("text/plain;charset=UTF-8");
+        if (content.blobRef() != null) {
+            blobStore.send(content.blobRef(), request, response);
+            return;
+        }
+        byte[] bytes = content.text().getBytes(StandardCharsets.UTF_8);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
 }
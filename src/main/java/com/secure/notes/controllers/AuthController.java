@@ -1,9 +1,9 @@
 package com.secure.notes.controllers;
 
+import com.secure.notes.exceptions.PasswordHashingRejectedException;
 import com.secure.notes.models.AppRole;
 import com.secure.notes.models.Role;
 import com.secure.notes.models.User;
-import com.secure.notes.repositories.RoleRepository;
 import com.secure.notes.repositories.UserRepository;
 import com.secure.notes.security.jwt.JwtUtils;
 import com.secure.notes.security.request.LoginRequest;
@@ -11,9 +11,14 @@ import com.secure.notes.security.request.SignupRequest;
 import com.secure.notes.security.response.LoginResponse;
 import com.secure.notes.security.response.MessageResponse;
 import com.secure.notes.security.response.UserInfoResponse;
+import com.secure.notes.security.services.LoginRateLimiter;
 import com.secure.notes.services.UserService;
+import com.secure.notes.util.RoleRegistry;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -49,7 +54,7 @@ public class AuthController {
     UserRepository userRepository;
 
     @Autowired
-    RoleRepository roleRepository;
+    RoleRegistry roleRegistry;
 
     @Autowired
     PasswordEncoder encoder;
@@ -57,9 +62,16 @@ public class AuthController {
     @Autowired
     UserService userService;
 
+    @Autowired
+    LoginRateLimiter loginRateLimiter;
+
     //로그인
     @PostMapping("/public/signin")
-    public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        // 해싱 전에 요청 제한 검사
+        if (!loginRateLimiter.tryAcquire("signin", request.getRemoteAddr(), loginRequest.getUsername())) {
+            return tooManyRequests();
+        }
         Authentication authentication;
         try {
             authentication = authenticationManager
@@ -69,6 +81,8 @@ public class AuthController {
             map.put("message", "Bad credentials");
             map.put("status", false);
             return new ResponseEntity<Object>(map, HttpStatus.NOT_FOUND);
+        } catch (PasswordHashingRejectedException exception) {
+            return hashingUnavailable();
         }
 
         // 시큐리티 인증됨
@@ -96,36 +110,28 @@ public class AuthController {
     //회원가입
     @PostMapping("/public/signup")
     public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
-        // 유저네임 중복방지
-        if (userRepository.existsByUserName(signUpRequest.getUsername())) {
-            return ResponseEntity.badRequest().body(new MessageResponse("Error: Username is already taken!"));
-        }
-
-        // 이메일 중복방지
-        if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-            return ResponseEntity.badRequest().body(new MessageResponse("Error: Email is already in use!"));
-        }
-
         // 새 유저 생성
-        User user = new User(signUpRequest.getUsername(),
-                signUpRequest.getEmail(),
-                encoder.encode(signUpRequest.getPassword()));
+        User user;
+        try {
+            user = new User(signUpRequest.getUsername(),
+                    signUpRequest.getEmail(),
+                    encoder.encode(signUpRequest.getPassword()));
+        } catch (PasswordHashingRejectedException exception) {
+            return hashingUnavailable();
+        }
         // 권한 리스트 (시큐리티 유저 저장시 권한 리스트 필요)
         Set<String> strRoles = signUpRequest.getRole();
         Role role;
 
         // 클라이언트에서 문자열 admin일 경우관리자 권한 나머지는 유저권한
         if (strRoles == null || strRoles.isEmpty()) {
-            role = roleRepository.findByRoleName(AppRole.ROLE_USER)
-                    .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
+            role = roleRegistry.get(AppRole.ROLE_USER);
         } else {
             String roleStr = strRoles.iterator().next();
             if (roleStr.equals("admin")) {
-                role = roleRepository.findByRoleName(AppRole.ROLE_ADMIN)
-                        .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
+                role = roleRegistry.get(AppRole.ROLE_ADMIN);
             } else {
-                role = roleRepository.findByRoleName(AppRole.ROLE_USER)
-                        .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
+                role = roleRegistry.get(AppRole.ROLE_USER);
             }
 
             user.setAccountNonLocked(true);
@@ -138,11 +144,30 @@ public class AuthController {
             user.setSignUpMethod("email");  // 이메일 가입방법
         }
         user.setRole(role);
-        userRepository.save(user);
+
+        // 중복검사 쿼리 없이 바로 저장 (users 테이블의 username, email 유니크 제약조건이 중복을 막는다)
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            return duplicateSignup(signUpRequest, e);
+        }
 
         return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
     }
 
+    // 유니크 제약조건 위반시에만 어떤 값이 중복인지 확인
+    private ResponseEntity<?> duplicateSignup(SignupRequest signUpRequest, DataIntegrityViolationException e) {
+        // 유저네임 중복방지
+        if (userRepository.existsByUserName(signUpRequest.getUsername())) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: Username is already taken!"));
+        }
+        // 이메일 중복방지
+        if (userRepository.existsByEmail(signUpRequest.getEmail())) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: Email is already in use!"));
+        }
+        throw e;
+    }
+
     // 한명의 유저 정보를 가져오기
     @GetMapping("/user")
     public ResponseEntity<?> getUserDetails(@AuthenticationPrincipal UserDetails userDetails) {
@@ -181,7 +206,10 @@ public class AuthController {
 
     // 비번을 잊었을때 요청(인증없이 가능)
     @PostMapping("/public/forgot-password")
-    public ResponseEntity<?> forgotPassword(@RequestParam String email) {
+    public ResponseEntity<?> forgotPassword(@RequestParam String email, HttpServletRequest request) {
+        if (!loginRateLimiter.tryAcquire("forgot-password", request.getRemoteAddr(), email)) {
+            return tooManyRequests();
+        }
         try {
             userService.generatePasswordResetToken(email);
             return ResponseEntity.ok(new MessageResponse("패스워드 리셋 이메일 보냄"));
@@ -193,13 +221,32 @@ public class AuthController {
 
     @PostMapping("/public/reset-password")
     public ResponseEntity<?> resetPassword(@RequestParam String token,
-                                           @RequestParam String newPassword) {
+                                           @RequestParam String newPassword,
+                                           HttpServletRequest request) {
+        if (!loginRateLimiter.tryAcquire("reset-password", request.getRemoteAddr(), null)) {
+            return tooManyRequests();
+        }
         try {
             userService.resetPassword(token, newPassword);
             return ResponseEntity.ok(new MessageResponse("Password reset successful"));
+        } catch (PasswordHashingRejectedException e) {
+            return hashingUnavailable();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new MessageResponse(e.getMessage()));
         }
     }
+
+    // 요청 제한을 넘었을때
+    private ResponseEntity<MessageResponse> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(new MessageResponse("Too many attempts, please try again later"));
+    }
+
+    // 비밀번호 해싱 풀이 가득 찼을때 (잠시 후 재시도)
+    private ResponseEntity<MessageResponse> hashingUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Server is busy, please try again later"));
+    }
 }
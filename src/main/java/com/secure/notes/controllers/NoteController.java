@@ -1,13 +1,36 @@
 package com.secure.notes.controllers;
 
+import com.secure.notes.dtos.NoteBatchUpdate;
+import com.secure.notes.dtos.NotePatchRequest;
+import com.secure.notes.exceptions.NoteNotFoundException;
+import com.secure.notes.exceptions.NoteVersionConflictException;
 import com.secure.notes.models.Note;
+import com.secure.notes.security.response.MessageResponse;
 import com.secure.notes.services.NoteService;
+import com.secure.notes.util.ContentVersions;
+import com.secure.notes.util.NoteBlobStore;
+import com.secure.notes.util.NoteChangeBroadcaster;
+import com.secure.notes.util.NoteCursor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/notes")
@@ -16,27 +39,178 @@ public class NoteController {
     @Autowired
     private NoteService noteService;
 
-    // 노트 추가
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private NoteChangeBroadcaster changeBroadcaster;
+
+    @Autowired
+    private NoteBlobStore blobStore;
+
+    // 노트 추가 (본문이 크면 파일로 바로 흘려 저장)
     @PostMapping
-    public Note createNote(@RequestBody String content, @AuthenticationPrincipal UserDetails userDetails) {
+    public Note createNote(HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) throws IOException {
         String username = userDetails.getUsername();
-        System.out.println("USER: " + username);
-        return noteService.createNoteForUser(username, content);
+        NoteBlobStore.Upload upload = blobStore.receive(request.getInputStream(), request.getContentLengthLong(),
+                request.getContentType());
+        if (upload.blob() != null) {
+            return noteService.createBlobNoteForUser(username, upload.blob());
+        }
+        return noteService.createNoteForUser(username, upload.text());
+    }
+
+    // 노트 여러개 추가 (내용 배열)
+    @PostMapping("/batch")
+    public ResponseEntity<?> createNotes(@RequestBody List<String> contents, @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(noteService.createNotesForUser(userDetails.getUsername(), contents));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    // 노트 여러개 수정 ([{id, content}])
+    @PutMapping("/batch")
+    public ResponseEntity<?> updateNotes(@RequestBody List<NoteBatchUpdate> updates, @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(noteService.updateNotesForUser(userDetails.getUsername(), updates));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
     }
 
-    // 노트 전체 가져오기
+    // 노트 여러개 삭제 (id 배열)
+    @DeleteMapping("/batch")
+    public ResponseEntity<?> deleteNotes(@RequestBody List<Long> noteIds, @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            int deleted = noteService.deleteNotesForUser(userDetails.getUsername(), noteIds);
+            return ResponseEntity.ok(new MessageResponse("Deleted " + deleted + " notes"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    // 노트 가져오기
+    // limit, cursor 가 없으면 예전처럼 전체 목록, 있으면 요약(미리보기) 키셋 페이지 (sort=asc|desc|updated)
+    // 노트가 바뀌지 않았으면 DB 조회 없이 304 (If-None-Match)
+    // 유저마다 응답이 다르므로 공유 캐시에는 저장하지 않고, 브라우저도 매번 ETag 로 다시 확인하게 한다.
     @GetMapping
-    public List<Note> getUserNotes(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<?> getUserNotes(@AuthenticationPrincipal UserDetails userDetails,
+                                          @RequestParam(required = false) Integer limit,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "asc") String sort,
+                                          WebRequest webRequest, HttpServletResponse response) {
+        String username = userDetails.getUsername();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        String variant = limit == null && cursor == null ? null
+                : Integer.toHexString(Objects.hash(limit, cursor, sort.toLowerCase()));
+        if (webRequest.checkNotModified(contentVersions.notesTag(username, variant))) {
+            return null;
+        }
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(noteService.getNotesForUser(username));
+        }
+        try {
+            return ResponseEntity.ok(noteService.getNotesPageForUser(username, cursor, limit,
+                    NoteCursor.Order.parse(sort)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    // 노트 변경 실시간 구독 (SSE, 이벤트: created/updated/deleted, 연결이 끊기면 다시 연결 후 목록 새로 받기)
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotes(@AuthenticationPrincipal UserDetails userDetails) {
+        SseEmitter emitter = changeBroadcaster.subscribe(userDetails.getUsername());
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    // 변경분 동기화 (since 이후 생성/수정된 노트 + 삭제된 id, 응답의 cursor 를 다음 since 로, 처음엔 since 없이)
+    @GetMapping("/changes")
+    public ResponseEntity<?> getNoteChanges(@AuthenticationPrincipal UserDetails userDetails,
+                                            @RequestParam(required = false) String since,
+                                            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(noteService.getChangesForUser(userDetails.getUsername(), since, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    // 노트 검색 (q 의 단어가 모두 들어간 노트 요약, 관련도 순)
+    @GetMapping("/search")
+    public ResponseEntity<?> searchNotes(@AuthenticationPrincipal UserDetails userDetails,
+                                         @RequestParam String q,
+                                         @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(noteService.searchNotesForUser(userDetails.getUsername(), q, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    // 노트 한개 가져오기 (전체 내용)
+    @GetMapping("/{noteId}")
+    public ResponseEntity<Note> getNote(@PathVariable Long noteId, @AuthenticationPrincipal UserDetails userDetails) {
         String username = userDetails.getUsername();
-        System.out.println("USER: " + username);
-        return noteService.getNotesForUser(username);
+        return noteService.getNoteForUser(noteId, username)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    // 노트 수정
+    // 노트 내용만 평문으로 내려받기 (파일로 저장된 노트는 메모리에 올리지 않고 sendfile/transferTo 로 전송)
+    @GetMapping("/{noteId}/content")
+    public void getNoteContent(@PathVariable Long noteId, @AuthenticationPrincipal UserDetails userDetails,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String username = userDetails.getUsername();
+        Note note = noteService.getNoteForUser(noteId, username)
+                .orElseThrow(() -> new NoteNotFoundException(noteId));
+        response.setContentType("text/plain;charset=UTF-8");
+        if (note.getBlobRef() == null) {
+            byte[] bytes = Objects.toString(note.getContent(), "").getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(bytes.length);
+            response.getOutputStream().write(bytes);
+            return;
+        }
+        blobStore.send(note.getBlobRef(), request, response);
+    }
+
+    // 노트 수정 (본문이 크면 파일로 바로 흘려 저장, 본인 노트인지 먼저 확인해서 남의 노트 요청은 디스크에 쓰지 않음)
     @PutMapping("/{noteId}")
-    public Note updateNote(@PathVariable Long noteId, @RequestBody String content, @AuthenticationPrincipal UserDetails userDetails) {
+    public Note updateNote(@PathVariable Long noteId, HttpServletRequest request,
+                           @AuthenticationPrincipal UserDetails userDetails) throws IOException {
         String username = userDetails.getUsername();
-        return noteService.updateNoteForUser(noteId, content, username);
+        noteService.checkNoteOwner(noteId, username);
+        NoteBlobStore.Upload upload = blobStore.receive(request.getInputStream(), request.getContentLengthLong(),
+                request.getContentType());
+        if (upload.blob() != null) {
+            return noteService.updateBlobNoteForUser(noteId, upload.blob(), username);
+        }
+        return noteService.updateNoteForUser(noteId, upload.text(), username);
+    }
+
+    // 노트 부분 수정 (바뀐 구간만 전송, baseVersion 이 오래되었으면 409 + 현재 버전)
+    @PatchMapping("/{noteId}")
+    public ResponseEntity<?> patchNote(@PathVariable Long noteId, @RequestBody NotePatchRequest request,
+                                       @AuthenticationPrincipal UserDetails userDetails) {
+        String username = userDetails.getUsername();
+        try {
+            return ResponseEntity.ok(noteService.patchNoteForUser(noteId, username,
+                    request.getBaseVersion(), request.getEdits()));
+        } catch (NoteVersionConflictException e) {
+            return versionConflict(e.getMessage(), e.getCurrentVersion());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return versionConflict("Note " + noteId + " has been modified", null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
     }
 
     // 노트 삭제
@@ -46,4 +220,10 @@ public class NoteController {
         noteService.deleteNoteForUser(noteId, username);
     }
 
+    private ResponseEntity<Map<String, Object>> versionConflict(String message, Long currentVersion) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", message);
+        body.put("currentVersion", currentVersion);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
 }
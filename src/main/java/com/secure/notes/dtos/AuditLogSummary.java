@@ -0,0 +1,18 @@
+package com.secure.notes.dtos;
+
+import java.time.LocalDateTime;
+
+// 감사로그 목록용 (내용 없이, 내용은 GET /api/audit/{id}/content)
+public interface AuditLogSummary {
+    Long getId();
+
+    String getAction();
+
+    String getUsername();
+
+    Long getNoteId();
+
+    Long getRevisionId();
+
+    LocalDateTime getTimestamp();
+}
@@ -0,0 +1,14 @@
+package com.secure.notes.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 일괄 수정 요청 한 건 (PUT /api/notes/batch)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteBatchUpdate {
+    private Long id;
+    private String content;
+}
@@ -0,0 +1,20 @@
+package com.secure.notes.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+// 노트 생성/수정/삭제 이벤트 (커밋 후 SSE 로 노트 주인의 모든 세션에 보냄)
+// content 는 검색 색인용으로만 쓰고 SSE 로는 보내지 않는다. (삭제면 null)
+// changeSeq 는 이 변경의 순번 (커밋 후 이벤트는 순서가 바뀌어 올 수 있으므로 받는 쪽에서 예전 이벤트를 거름)
+public record NoteChangedEvent(Type type, String username, Long noteId, Long version, Long changeSeq,
+                               LocalDateTime updatedDate, @JsonIgnore String content) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static NoteChangedEvent deleted(String username, Long noteId, Long changeSeq) {
+        return new NoteChangedEvent(Type.DELETED, username, noteId, null, changeSeq, LocalDateTime.now(), null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.secure.notes.dtos;
+
+import com.secure.notes.models.Note;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// GET /api/notes/changes 결과 (since 이후 생성/수정된 노트와 삭제된 노트 id, 다음 요청은 cursor 를 since 로)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteChanges {
+    private List<Note> changed;
+    private List<Long> deleted;
+    private String cursor;
+    private boolean hasMore;
+}
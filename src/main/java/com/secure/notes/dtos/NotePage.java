@@ -0,0 +1,17 @@
+package com.secure.notes.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 노트 목록 한 페이지 (nextCursor 로 다음 페이지 요청, 마지막 페이지면 null)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotePage {
+    private List<NoteSummary> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
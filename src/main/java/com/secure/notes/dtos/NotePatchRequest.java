@@ -0,0 +1,16 @@
+package com.secure.notes.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// PATCH /api/notes/{noteId} 요청 (baseVersion 이 현재 버전과 다르면 409)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotePatchRequest {
+    private Long baseVersion;
+    private List<NoteTextEdit> edits;
+}
@@ -0,0 +1,18 @@
+package com.secure.notes.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// PATCH 결과 (내용은 돌려주지 않음, 다음 PATCH 는 version 을 baseVersion 으로)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotePatchResponse {
+    private Long id;
+    private Long version;
+    private Integer contentLength;
+    private LocalDateTime updatedDate;
+}
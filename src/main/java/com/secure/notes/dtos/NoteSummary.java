@@ -0,0 +1,18 @@
+package com.secure.notes.dtos;
+
+import java.time.LocalDateTime;
+
+// 노트 목록용 요약 (DB 에서 미리보기만 잘라서 가져옴, 전체 내용은 GET /api/notes/{id})
+public interface NoteSummary {
+    Long getId();
+
+    String getPreview();
+
+    Integer getContentLength();
+
+    LocalDateTime getCreatedDate();
+
+    LocalDateTime getUpdatedDate();
+
+    Long getVersion();
+}
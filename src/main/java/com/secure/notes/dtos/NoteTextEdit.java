@@ -0,0 +1,15 @@
+package com.secure.notes.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 내용의 [start, end) 구간을 text 로 바꾼다. (위치는 baseVersion 내용 기준, 삽입은 start == end, 삭제는 text 가 빈값)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteTextEdit {
+    private int start;
+    private int end;
+    private String text;
+}
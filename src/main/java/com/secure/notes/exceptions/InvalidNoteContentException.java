@@ -0,0 +1,13 @@
+package com.secure.notes.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 노트 본문을 읽을 수 없을때 (지원하지 않는 charset 등)
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidNoteContentException extends RuntimeException {
+
+    public InvalidNoteContentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.secure.notes.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 노트가 없거나 요청한 유저의 노트가 아닐때 (어느쪽인지는 알려주지 않음)
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class NoteNotFoundException extends RuntimeException {
+
+    public NoteNotFoundException(Long noteId) {
+        super("Note not found: " + noteId);
+    }
+}
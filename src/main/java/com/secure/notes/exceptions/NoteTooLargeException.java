@@ -0,0 +1,13 @@
+package com.secure.notes.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 노트 본문이 spring.app.notes.blob.maxBytes 보다 클때
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class NoteTooLargeException extends RuntimeException {
+
+    public NoteTooLargeException(long maxBytes) {
+        super("Note content exceeds " + maxBytes + " bytes");
+    }
+}
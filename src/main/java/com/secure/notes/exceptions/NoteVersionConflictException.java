@@ -0,0 +1,16 @@
+package com.secure.notes.exceptions;
+
+// PATCH 의 baseVersion 이 현재 노트 버전과 다를때 (currentVersion 은 모르면 null)
+public class NoteVersionConflictException extends RuntimeException {
+
+    private final Long currentVersion;
+
+    public NoteVersionConflictException(Long noteId, Long currentVersion) {
+        super("Note " + noteId + " has been modified");
+        this.currentVersion = currentVersion;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,13 @@
+package com.secure.notes.exceptions;
+
+// 비밀번호 해싱 풀이 가득 차서 요청을 받지 못할때
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,9 +1,13 @@
 package com.secure.notes.models;
 
+import com.secure.notes.util.CompressedTextConverter;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -12,11 +16,19 @@ import java.time.LocalDateTime;
 @Data
 public class AuditLog {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_log_seq")
+    @SequenceGenerator(name = "audit_log_seq", sequenceName = "audit_log_seq", allocationSize = 50)
     private Long id;
     private String action;
     private String username;
     private Long noteId;
+    // 예전 로그의 노트 전체 내용 사본 (새 로그는 revisionId 로 이력을 참조, 부분수정 로그는 요약)
+    @Lob
+    @Convert(converter = CompressedTextConverter.class)
     private String noteContent;
+    // 파일로 저장된 큰 노트면 내용 대신 파일 참조 (예전 로그)
+    private String blobRef;
+    // 이 로그 시점의 노트 내용 (NoteRevision)
+    private Long revisionId;
     private LocalDateTime timestamp;
 }
@@ -1,18 +1,76 @@
 package com.secure.notes.models;
 
 import jakarta.persistence.*;
+import com.secure.notes.util.CompressedTextConverter;
 import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Data
+@Table(indexes = {
+        @Index(name = "idx_note_owner_id", columnList = "owner_username, id"),  // 유저별 키셋 페이지
+        @Index(name = "idx_note_owner_updated", columnList = "owner_username, updated_date, id"),  // 최근 수정순 페이지
+        @Index(name = "idx_note_owner_change", columnList = "owner_username, change_seq")  // 변경분 동기화
+})
 public class Note {
 
+    // contentPreview 컬럼 길이 (spring.app.notes.previewLength 는 이 값까지)
+    public static final int PREVIEW_MAX_LENGTH = 500;
+
+    // IDENTITY 는 insert 배치가 안되므로 id 를 50개씩 미리 받아오는 시퀀스 사용 (MySQL 은 note_seq 테이블)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_seq")
+    @SequenceGenerator(name = "note_seq", sequenceName = "note_seq", allocationSize = 50)
     private Long id;
 
+    // 긴 내용은 압축해서 저장 (CompressedTextConverter)
     @Lob
+    @Convert(converter = CompressedTextConverter.class)
     private String content;
 
+    // 큰 노트는 내용을 파일로 저장하고 (content 는 null) 파일 참조만 남긴다. (NoteBlobStore, GET /api/notes/{id}/content)
+    private String blobRef;
+
+    // 목록 미리보기 (압축된 내용은 DB 에서 자를 수 없으므로 저장할때 따로 남김)
+    @Column(length = PREVIEW_MAX_LENGTH)
+    private String contentPreview;
+
     private String ownerUsername;
+
+    // 목록에서 내용을 읽지 않고 크기를 보여주기 위한 값 (저장할때 계산)
+    private Integer contentLength;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdDate;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedDate;
+
+    // 마지막 변경 순번 (NoteChangeSequence, GET /api/notes/changes 의 기준)
+    private Long changeSeq;
+
+    // 낙관적 잠금 (PATCH 의 baseVersion 과 비교, 수정할때마다 1씩 증가)
+    @Version
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    void computeContentLength() {
+        if (blobRef != null) {
+            return;     // 파일 노트는 저장할때 계산한 값을 그대로 씀
+        }
+        contentLength = content != null ? content.length() : 0;
+        contentPreview = previewOf(content);
+    }
+
+    public static String previewOf(String content) {
+        if (content == null) {
+            return null;
+        }
+        return content.length() > PREVIEW_MAX_LENGTH ? content.substring(0, PREVIEW_MAX_LENGTH) : content;
+    }
 }
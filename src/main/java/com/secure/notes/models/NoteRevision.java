@@ -0,0 +1,53 @@
+package com.secure.notes.models;
+
+import com.secure.notes.util.CompressedTextConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 노트 내용 이력 한 단계 (감사로그가 revisionId 로 참조)
+// 스냅샷(baseId 없음)은 전체 내용, 델타는 기준 리비전과 앞/뒤 공통부분 길이 + 바뀐 가운데 부분만 저장한다.
+@Entity
+@Data
+@NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_revision_note", columnList = "note_id"),
+        @Index(name = "idx_revision_snapshot", columnList = "snapshot_id")
+})
+public class NoteRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_revision_seq")
+    @SequenceGenerator(name = "note_revision_seq", sequenceName = "note_revision_seq", allocationSize = 50)
+    private Long id;
+
+    private Long noteId;
+
+    // 델타의 기준 리비전 (스냅샷이면 null)
+    private Long baseId;
+
+    // 델타 체인이 시작되는 스냅샷 (스냅샷이면 null)
+    private Long snapshotId;
+
+    // 스냅샷에서 몇 단계 떨어졌는지 (스냅샷 = 0)
+    private int depth;
+
+    // 기준 내용에서 그대로 쓰는 앞/뒤 글자수
+    private int prefixLength;
+
+    private int suffixLength;
+
+    // 스냅샷이면 전체 내용, 델타면 가운데 바뀐 부분
+    @Lob
+    @Convert(converter = CompressedTextConverter.class)
+    private String text;
+
+    // 파일로 저장된 큰 노트면 내용 대신 파일 참조 (항상 스냅샷)
+    private String blobRef;
+
+    private int contentLength;
+
+    private LocalDateTime createdDate;
+}
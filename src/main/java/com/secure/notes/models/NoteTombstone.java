@@ -0,0 +1,35 @@
+package com.secure.notes.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 삭제된 노트 기록 (GET /api/notes/changes 에서 삭제를 알려주기 위해 남김)
+@Entity
+@Data
+@NoArgsConstructor
+@Table(indexes = @Index(name = "idx_tombstone_owner_change", columnList = "owner_username, change_seq"))
+public class NoteTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_tombstone_seq")
+    @SequenceGenerator(name = "note_tombstone_seq", sequenceName = "note_tombstone_seq", allocationSize = 50)
+    private Long id;
+
+    private Long noteId;
+
+    private String ownerUsername;
+
+    private Long changeSeq;
+
+    private LocalDateTime deletedAt;
+
+    public NoteTombstone(Long noteId, String ownerUsername, Long changeSeq) {
+        this.noteId = noteId;
+        this.ownerUsername = ownerUsername;
+        this.changeSeq = changeSeq;
+        this.deletedAt = LocalDateTime.now();
+    }
+}
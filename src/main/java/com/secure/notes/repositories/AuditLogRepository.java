@@ -1,10 +1,31 @@
 package com.secure.notes.repositories;
 
+import com.secure.notes.dtos.AuditLogSummary;
 import com.secure.notes.models.AuditLog;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<AuditLog> findByNoteId(Long noteId);
+
+    // 내용 없이 메타데이터만 (id 순)
+    List<AuditLogSummary> findSummariesByNoteIdOrderByIdAsc(Long noteId);
+
+    // 전체 내용을 직접 들고 있는 예전 생성/수정 로그가 있는 노트 (이력 이전 대상)
+    @Query("select distinct a.noteId from AuditLog a where a.revisionId is null "
+            + "and a.action in ('CREATE', 'UPDATE') and (a.noteContent is not null or a.blobRef is not null)")
+    List<Long> findLegacyContentNoteIds();
+
+    @Query("select a from AuditLog a where a.noteId = :noteId and a.id > :afterId and a.revisionId is null "
+            + "and a.action in ('CREATE', 'UPDATE') and (a.noteContent is not null or a.blobRef is not null) "
+            + "order by a.id")
+    List<AuditLog> findLegacyContentAfter(@Param("noteId") Long noteId, @Param("afterId") Long afterId, Limit limit);
+
+    // 감사로그가 참조하는 노트 파일 (파일 정리에서 제외)
+    @Query("select distinct a.blobRef from AuditLog a where a.blobRef is not null")
+    List<String> findAllBlobRefs();
 }
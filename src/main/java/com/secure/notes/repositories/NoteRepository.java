@@ -1,10 +1,123 @@
 package com.secure.notes.repositories;
 
+import com.secure.notes.dtos.NoteSummary;
 import com.secure.notes.models.Note;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface NoteRepository extends JpaRepository<Note, Long> {
     List<Note> findByOwnerUsername(String username);
+
+    // 유저 본인의 노트 한개
+    Optional<Note> findByIdAndOwnerUsername(Long id, String username);
+
+    // 요약 목록 공통 select (내용 전체 대신 저장해둔 미리보기, 미리보기/길이가 없는 예전 행은 압축 전이라 DB 에서 계산)
+    String SUMMARY_SELECT = "select n.id as id, "
+            + "substring(coalesce(n.contentPreview, substring(n.content, 1, :previewLength)), 1, :previewLength) as preview, "
+            + "coalesce(n.contentLength, length(n.content)) as contentLength, "
+            + "n.createdDate as createdDate, n.updatedDate as updatedDate, n.version as version from Note n ";
+
+    // 키셋 페이지: 마지막으로 받은 id 다음부터 (오름차순)
+    @Query(SUMMARY_SELECT + "where n.ownerUsername = :username and n.id > :lastId order by n.id asc")
+    List<NoteSummary> findSummariesAfterId(@Param("username") String username, @Param("lastId") Long lastId,
+                                           @Param("previewLength") int previewLength, Limit limit);
+
+    // 키셋 페이지: 마지막으로 받은 id 이전부터 (내림차순)
+    @Query(SUMMARY_SELECT + "where n.ownerUsername = :username and n.id < :lastId order by n.id desc")
+    List<NoteSummary> findSummariesBeforeId(@Param("username") String username, @Param("lastId") Long lastId,
+                                            @Param("previewLength") int previewLength, Limit limit);
+
+    // 키셋 페이지: 최근 수정순 (수정시각, id 내림차순)
+    @Query(SUMMARY_SELECT + "where n.ownerUsername = :username and (n.updatedDate < :lastUpdated "
+            + "or (n.updatedDate = :lastUpdated and n.id < :lastId)) order by n.updatedDate desc, n.id desc")
+    List<NoteSummary> findSummariesUpdatedBefore(@Param("username") String username,
+                                                 @Param("lastUpdated") LocalDateTime lastUpdated,
+                                                 @Param("lastId") Long lastId,
+                                                 @Param("previewLength") int previewLength, Limit limit);
+
+    // 유저 본인의 노트만 수정 (엔티티를 읽지 않고 한번에, 바뀐 행 수를 돌려줌, 버전도 올림)
+    @Modifying
+    @Query("update Note n set n.content = :content, n.blobRef = null, n.contentLength = :contentLength, "
+            + "n.contentPreview = :preview, n.updatedDate = :now, n.version = n.version + 1, n.changeSeq = :changeSeq "
+            + "where n.id = :id and n.ownerUsername = :username")
+    int updateContent(@Param("id") Long id, @Param("username") String username, @Param("content") String content,
+                      @Param("contentLength") int contentLength, @Param("preview") String preview,
+                      @Param("now") LocalDateTime now, @Param("changeSeq") Long changeSeq);
+
+    // 유저 본인의 노트 내용을 파일 참조로 바꾼다.
+    @Modifying
+    @Query("update Note n set n.content = null, n.blobRef = :blobRef, n.contentLength = :contentLength, "
+            + "n.contentPreview = :preview, n.updatedDate = :now, n.version = n.version + 1, n.changeSeq = :changeSeq "
+            + "where n.id = :id and n.ownerUsername = :username")
+    int updateBlob(@Param("id") Long id, @Param("username") String username, @Param("blobRef") String blobRef,
+                   @Param("contentLength") int contentLength, @Param("preview") String preview,
+                   @Param("now") LocalDateTime now, @Param("changeSeq") Long changeSeq);
+
+    // 노트가 참조하는 파일 (파일 정리에서 제외)
+    @Query("select distinct n.blobRef from Note n where n.blobRef is not null")
+    List<String> findAllBlobRefs();
+
+    boolean existsByIdAndOwnerUsername(Long id, String username);
+
+    // since 이후 ~ upTo 까지 생성/수정된 노트 (변경순서)
+    List<Note> findByOwnerUsernameAndChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(
+            String username, Long since, Long upTo, Limit limit);
+
+    @Query("select coalesce(max(n.changeSeq), 0) from Note n")
+    Long findMaxChangeSeq();
+
+    // 노트 버전만 읽기 (내용은 읽지 않음)
+    @Query("select n.version from Note n where n.id = :id")
+    Long findVersionById(@Param("id") Long id);
+
+    // 유저 본인의 노트만 삭제 (바뀐 행 수를 돌려줌)
+    @Modifying
+    @Query("delete from Note n where n.id = :id and n.ownerUsername = :username")
+    int deleteOwned(@Param("id") Long id, @Param("username") String username);
+
+    // 일괄 수정/삭제 대상 중 유저 본인의 노트
+    List<Note> findByOwnerUsernameAndIdIn(String username, Collection<Long> ids);
+
+    @Query("select n.id from Note n where n.ownerUsername = :username and n.id in :ids")
+    List<Long> findOwnedIds(@Param("username") String username, @Param("ids") Collection<Long> ids);
+
+    // 유저 본인의 노트 여러개를 한번에 삭제
+    @Modifying
+    @Query("delete from Note n where n.ownerUsername = :username and n.id in :ids")
+    int deleteOwnedIn(@Param("username") String username, @Param("ids") Collection<Long> ids);
+
+    // 검색 결과 요약 (id 로 바로 조회)
+    @Query(SUMMARY_SELECT + "where n.ownerUsername = :username and n.id in :ids")
+    List<NoteSummary> findSummariesByIds(@Param("username") String username, @Param("ids") Collection<Long> ids,
+                                         @Param("previewLength") int previewLength);
+
+    // 검색 색인 만들때 전체 노트를 id 순으로 나눠 읽기
+    List<Note> findByIdGreaterThanOrderByIdAsc(Long lastId, Limit limit);
+
+    // 수정시각 컬럼 추가 전에 만들어진 노트 채우기 (구동시 한번)
+    @Modifying
+    @Transactional
+    @Query("update Note n set n.updatedDate = :now where n.updatedDate is null")
+    int backfillUpdatedDate(@Param("now") LocalDateTime now);
+
+    // 버전 컬럼 추가 전에 만들어진 노트는 0 부터
+    @Modifying
+    @Transactional
+    @Query("update Note n set n.version = 0 where n.version is null")
+    int backfillVersion();
+
+    // 변경 순번 컬럼 추가 전에 만들어진 노트는 id 를 순번으로
+    @Modifying
+    @Transactional
+    @Query("update Note n set n.changeSeq = n.id where n.changeSeq is null")
+    int backfillChangeSeq();
 }
@@ -0,0 +1,20 @@
+package com.secure.notes.repositories;
+
+import com.secure.notes.models.NoteRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface NoteRevisionRepository extends JpaRepository<NoteRevision, Long> {
+
+    // 스냅샷과 그 스냅샷에서 시작된 depth 이하의 델타 (한번에 읽어서 체인을 따라감)
+    @Query("select r from NoteRevision r where r.id = :snapshotId "
+            + "or (r.snapshotId = :snapshotId and r.depth <= :depth)")
+    List<NoteRevision> findChain(@Param("snapshotId") Long snapshotId, @Param("depth") int depth);
+
+    // 이력이 참조하는 노트 파일 (파일 정리에서 제외)
+    @Query("select distinct r.blobRef from NoteRevision r where r.blobRef is not null")
+    List<String> findAllBlobRefs();
+}
@@ -0,0 +1,18 @@
+package com.secure.notes.repositories;
+
+import com.secure.notes.models.NoteTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface NoteTombstoneRepository extends JpaRepository<NoteTombstone, Long> {
+
+    // since 이후 ~ upTo 까지의 삭제 기록 (변경순서)
+    List<NoteTombstone> findByOwnerUsernameAndChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(
+            String username, Long since, Long upTo, Limit limit);
+
+    @Query("select coalesce(max(t.changeSeq), 0) from NoteTombstone t")
+    Long findMaxChangeSeq();
+}
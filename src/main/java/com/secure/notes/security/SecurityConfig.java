@@ -4,14 +4,17 @@ import com.secure.notes.config.OAuth2LoginSuccessHandler;
 import com.secure.notes.models.AppRole;
 import com.secure.notes.models.Role;
 import com.secure.notes.models.User;
-import com.secure.notes.repositories.RoleRepository;
 import com.secure.notes.repositories.UserRepository;
 import com.secure.notes.security.jwt.AuthEntryPointJwt;
 import com.secure.notes.security.jwt.AuthTokenFilter;
+import com.secure.notes.security.services.BCryptStrengthTuner;
+import com.secure.notes.security.services.BoundedPasswordEncoder;
 import com.secure.notes.security.services.CustomLoggingFilter;
+import com.secure.notes.util.RoleRegistry;
 import io.github.cdimascio.dotenv.Dotenv;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,12 +29,14 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
 import java.time.LocalDate;
+import java.util.Map;
 import java.util.Properties;
 
 import static org.springframework.security.config.Customizer.withDefaults;
@@ -52,6 +57,32 @@ public class SecurityConfig {
     @Lazy
     private OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler;
 
+    // 비밀번호 해싱 전용 스레드 수 (0 이면 CPU 코어의 절반)
+    @Value("${spring.app.passwordHash.poolSize:0}")
+    private int hashPoolSize;
+
+    // 해싱 대기열 크기 (넘치면 로그인/가입 요청을 바로 거절)
+    @Value("${spring.app.passwordHash.queueCapacity:64}")
+    private int hashQueueCapacity;
+
+    // 해싱 결과를 기다리는 최대 시간
+    @Value("${spring.app.passwordHash.timeoutMs:5000}")
+    private long hashTimeoutMs;
+
+    // BCrypt cost 고정값 (0 이면 구동시 측정해서 결정)
+    @Value("${spring.app.bcrypt.strength:0}")
+    private int bcryptStrength;
+
+    // 해싱 1회 목표 시간 (이 안에 들어오는 가장 강한 cost 사용)
+    @Value("${spring.app.bcrypt.latencyBudgetMs:80}")
+    private long bcryptLatencyBudgetMs;
+
+    @Value("${spring.app.bcrypt.minStrength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${spring.app.bcrypt.maxStrength:14}")
+    private int bcryptMaxStrength;
+
     // jwt 토큰 인증 필터
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
@@ -94,17 +125,15 @@ public class SecurityConfig {
 
     //CommandLineRunner 스프링 부트 구동 시점에 특정 코드 실행 (미리 권한 테이블에 유저, 어드민 권한 저장하고 만든다(테스트용))
     @Bean
-    public CommandLineRunner initData(RoleRepository roleRepository,
+    public CommandLineRunner initData(RoleRegistry roleRegistry,
                                       UserRepository userRepository,
                                       PasswordEncoder passwordEncoder) {
 
         return args -> {    // 실행되는 코드들
-            // 권한 테이블에 유저권한 입력
-            Role userRole = roleRepository.findByRoleName(AppRole.ROLE_USER)
-                    .orElseGet(() -> roleRepository.save(new Role(AppRole.ROLE_USER)));
-            // 권한 테이블에 관리자 권한 있으면 가져오고 없으면 입력함
-            Role adminRole = roleRepository.findByRoleName(AppRole.ROLE_ADMIN)
-                    .orElseGet(() -> roleRepository.save(new Role(AppRole.ROLE_ADMIN)));
+            // 권한 테이블을 한번 읽어 메모리에 올림 (유저, 관리자 권한이 없으면 입력함)
+            roleRegistry.refresh();
+            Role userRole = roleRegistry.get(AppRole.ROLE_USER);
+            Role adminRole = roleRegistry.get(AppRole.ROLE_ADMIN);
 
             if (!userRepository.existsByUserName("user1")) {
                 User user1 = new User("user1", "user1@example.com", passwordEncoder.encode("password1"));
@@ -136,10 +165,19 @@ public class SecurityConfig {
         };
     }
 
-    // 패스워드 암호화
+    // 패스워드 암호화 (해싱은 전용 스레드풀에서)
+    // {bcrypt} 접두어로 저장하고, 접두어 없는 예전 해시나 cost 가 낮은 해시는 로그인 성공시 다시 해싱된다.
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = bcryptStrength > 0
+                ? bcryptStrength
+                : BCryptStrengthTuner.tune(bcryptLatencyBudgetMs, bcryptMinStrength, bcryptMaxStrength);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);    // 접두어 없는 예전 해시
+
+        int poolSize = hashPoolSize > 0 ? hashPoolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(delegating, poolSize, hashQueueCapacity, hashTimeoutMs);
     }
 
     @Bean
@@ -1,6 +1,9 @@
 package com.secure.notes.security.jwt;
 
+import com.secure.notes.security.services.UserDetailsImpl;
 import com.secure.notes.security.services.UserDetailsServiceImpl;
+import com.secure.notes.security.services.UserSecurityVersions;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +11,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -26,6 +31,16 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private JwtTokenCache tokenCache;
+
+    @Autowired
+    private UserSecurityVersions securityVersions;
+
+    // true 면 보안버전이 맞는 토큰은 DB 조회 없이 claim 으로 유저를 만든다.
+    @Value("${spring.app.jwtStatelessPrincipal:false}")
+    private boolean statelessPrincipal;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
@@ -34,10 +49,13 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         logger.debug("AuthTokenFilter called for URI: {}", request.getRequestURI());
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            VerifiedToken verified = jwt != null ? resolveToken(jwt) : null;
+            if (verified != null) {
+                String username = verified.subject();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = isStatelessEligible(verified)
+                        ? buildPrincipal(verified)
+                        : userDetailsService.loadUserByUsername(username);
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails,
@@ -56,6 +74,40 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // 캐시에 검증된 토큰이 있으면 그대로 사용하고 없으면 한번만 파싱/검증해서 캐시에 저장
+    private VerifiedToken resolveToken(String jwt) {
+        VerifiedToken cached = tokenCache.get(jwt);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = jwtUtils.parseValidatedClaims(jwt);
+        if (claims == null) {
+            return null;
+        }
+        VerifiedToken verified = VerifiedToken.from(claims);
+        tokenCache.put(jwt, verified);
+        return verified;
+    }
+
+    // 토큰의 보안버전이 현재 버전과 같을때만 claim 을 믿는다.
+    private boolean isStatelessEligible(VerifiedToken verified) {
+        return statelessPrincipal
+                && verified.securityVersion() != null
+                && verified.securityVersion() == securityVersions.current(verified.subject());
+    }
+
+    // 서명된 claim 만으로 유저디테일 생성 (DB 조회 없음)
+    private UserDetails buildPrincipal(VerifiedToken verified) {
+        return new UserDetailsImpl(
+                verified.userId(),
+                verified.subject(),
+                null,
+                null,
+                false,
+                verified.roles().stream().map(SimpleGrantedAuthority::new).toList()
+        );
+    }
+
     // 요청에서 http 헤더에 있는 jwt 토큰을 가져옴(로그 토큰 출력)
     private String parseJwt(HttpServletRequest request) {
         String jwt = jwtUtils.getJwtFromHeader(request);
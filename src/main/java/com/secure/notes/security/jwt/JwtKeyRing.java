@@ -0,0 +1,78 @@
+package com.secure.notes.security.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// jwt 서명키 묶음 (kid -> 키), 한번 만들면 바뀌지 않는다.
+// 키를 추가/교체할때는 withKey 로 새 키링을 만들어 통째로 바꾼다. 파서도 키링마다 한번만 만들어 재사용.
+public final class JwtKeyRing {
+
+    private final Map<String, SecretKey> keys;
+    private final String activeKid;     // 새 토큰 서명에 쓰는 키
+    private final String legacyKid;     // kid 헤더가 없는 예전 토큰 검증용 키
+    private final JwtParser parser;
+
+    private JwtKeyRing(Map<String, SecretKey> keys, String activeKid, String legacyKid) {
+        if (!keys.containsKey(activeKid)) {
+            throw new IllegalArgumentException("Active JWT key id not found: " + activeKid);
+        }
+        this.keys = Map.copyOf(keys);
+        this.activeKid = activeKid;
+        this.legacyKid = legacyKid;
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return resolve(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    public static JwtKeyRing of(Map<String, String> base64Secrets, String activeKid, String legacyKid) {
+        Map<String, SecretKey> keys = new LinkedHashMap<>();
+        base64Secrets.forEach((kid, secret) -> keys.put(kid, decode(secret)));
+        return new JwtKeyRing(keys, activeKid, legacyKid);
+    }
+
+    // 키를 추가한 새 키링 (activate 면 새 키로 서명 시작)
+    public JwtKeyRing withKey(String kid, String base64Secret, boolean activate) {
+        Map<String, SecretKey> next = new LinkedHashMap<>(keys);
+        next.put(kid, decode(base64Secret));
+        return new JwtKeyRing(next, activate ? kid : activeKid, legacyKid);
+    }
+
+    public String activeKid() {
+        return activeKid;
+    }
+
+    public SecretKey signingKey() {
+        return keys.get(activeKid);
+    }
+
+    public JwtParser parser() {
+        return parser;
+    }
+
+    private Key resolve(String kid) {
+        SecretKey key = keys.get(kid != null ? kid : legacyKid);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT key id: " + kid);
+        }
+        return key;
+    }
+
+    private static SecretKey decode(String base64Secret) {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret.trim()));
+    }
+}
@@ -0,0 +1,93 @@
+package com.secure.notes.security.jwt;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 이미 서명검증한 jwt 토큰 캐시 (같은 토큰이 반복해서 오면 파싱/HMAC 검사 생략)
+// 키는 토큰 원문이 아니라 SHA-256 다이제스트, 토큰 만료(exp)가 지나면 꺼낼때 제거한다.
+@Component
+public class JwtTokenCache {
+
+    // 캐시 최대 개수
+    @Value("${spring.app.jwtCacheMaxSize:10000}")
+    private int maxSize;
+
+    private final ConcurrentHashMap<TokenKey, VerifiedToken> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    // 캐시된 검증결과를 가져옴 (없거나 만료되었으면 null)
+    public VerifiedToken get(String token) {
+        TokenKey key = digest(token);
+        VerifiedToken verified = cache.get(key);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.isExpired(System.currentTimeMillis())) {
+            cache.remove(key, verified);
+            return null;
+        }
+        return verified;
+    }
+
+    // 검증이 끝난 토큰을 캐시에 저장
+    public void put(String token, VerifiedToken verified) {
+        if (maxSize <= 0 || verified.isExpired(System.currentTimeMillis())) {
+            return;
+        }
+        if (cache.size() >= maxSize) {
+            evict();
+        }
+        cache.put(digest(token), verified);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    // 만료된 항목을 먼저 지우고 그래도 가득 차 있으면 1/10 정도를 비운다 (한 스레드만 실행)
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            cache.values().removeIf(verified -> verified.isExpired(now));
+            int toRemove = cache.size() - maxSize + Math.max(1, maxSize / 10);
+            Iterator<Map.Entry<TokenKey, VerifiedToken>> it = cache.entrySet().iterator();
+            while (toRemove-- > 0 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static TokenKey digest(String token) {
+        MessageDigest md = SHA256.get();
+        md.reset();
+        ByteBuffer hash = ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenKey(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    // 32바이트 다이제스트를 그대로 담는 키
+    private record TokenKey(long a, long b, long c, long d) {
+    }
+}
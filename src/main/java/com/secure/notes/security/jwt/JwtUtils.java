@@ -1,19 +1,22 @@
 package com.secure.notes.security.jwt;
 
+import com.secure.notes.security.services.UserDetailsImpl;
+import com.secure.notes.security.services.UserSecurityVersions;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.security.Key;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Component
@@ -22,10 +25,49 @@ public class JwtUtils {
     //jwt 비밀키 (설정에서 가져옴)
     @Value("${spring.app.jwtSecret}")
     private String jwtSecret;
+    //jwtSecret 의 kid (kid 헤더 없는 예전 토큰도 이 키로 검증)
+    @Value("${spring.app.jwtKeyId:primary}")
+    private String jwtKeyId;
+    //추가 키 목록 "kid:base64,kid:base64" (검증용, 활성키로 지정하면 서명에도 사용)
+    @Value("${spring.app.jwtAdditionalKeys:}")
+    private String jwtAdditionalKeys;
+    //새 토큰 서명에 쓰는 kid
+    @Value("${spring.app.jwtActiveKeyId:}")
+    private String jwtActiveKeyId;
     //jwt 유효기간
     @Value("${spring.app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
+    @Autowired
+    private UserSecurityVersions securityVersions;
+
+    private final AtomicReference<JwtKeyRing> keyRing = new AtomicReference<>();
+
+    //키링은 시작할때 한번만 만든다.
+    @PostConstruct
+    public void initKeyRing() {
+        Map<String, String> secrets = new LinkedHashMap<>();
+        secrets.put(jwtKeyId, jwtSecret);
+        for (String entry : jwtAdditionalKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int idx = entry.indexOf(':');
+            if (idx <= 0) {
+                throw new IllegalStateException("Invalid spring.app.jwtAdditionalKeys entry, expected kid:secret");
+            }
+            secrets.put(entry.substring(0, idx).trim(), entry.substring(idx + 1));
+        }
+        String activeKid = jwtActiveKeyId.isBlank() ? jwtKeyId : jwtActiveKeyId.trim();
+        keyRing.set(JwtKeyRing.of(secrets, activeKid, jwtKeyId));
+        logger.info("JWT key ring loaded: {} key(s), active kid {}", secrets.size(), activeKid);
+    }
+
+    //운영중 키 추가 (activate 면 이후 토큰은 새 키로 서명, 예전 키 토큰도 계속 검증됨)
+    public void addKey(String kid, String base64Secret, boolean activate) {
+        keyRing.updateAndGet(ring -> ring.withKey(kid, base64Secret, activate));
+    }
+
     //jwt 토큰을 헤더에서 가져옴
     public String getJwtFromHeader(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
@@ -40,34 +82,38 @@ public class JwtUtils {
     public String generateTokenFromUsername(UserDetails userDetails) {
         String username = userDetails.getUsername();
         String roles = userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(","));
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .subject(username)  // 이름 sub에 추가
                 .claim("roles", roles)  ///  권한은 claim에 추가
+                .claim("sv", securityVersions.current(username));  // 유저 보안버전
+        if (userDetails instanceof UserDetailsImpl details && details.getId() != null) {
+            builder.claim("uid", details.getId());  // 유저 id
+        }
+        JwtKeyRing ring = keyRing.get();
+        return builder
+                .header().keyId(ring.activeKid()).and()  // 서명키 kid
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key())
+                .signWith(ring.signingKey())
                 .compact();
     }
 
     //토큰에서 유저네임을 가져옴
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) key())
-                .build().parseSignedClaims(token)
+        return keyRing.get().parser()
+                .parseSignedClaims(token)
                 .getPayload().getSubject();
     }
 
-    //비밀키 값
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-
     //jwt 토큰이 유효한지 검사
     public boolean validateJwtToken(String authToken) {
+        return parseValidatedClaims(authToken) != null;
+    }
+
+    //jwt 토큰을 한번만 파싱해서 서명검증 후 claims 반환 (유효하지 않으면 null)
+    public Claims parseValidatedClaims(String authToken) {
         try {
-            System.out.println("Validate");
-            Jwts.parser().verifyWith((SecretKey) key()).build().parseSignedClaims(authToken);
-            return true;
+            return keyRing.get().parser().parseSignedClaims(authToken).getPayload();
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -77,6 +123,6 @@ public class JwtUtils {
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 }
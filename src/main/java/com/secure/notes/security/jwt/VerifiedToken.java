@@ -0,0 +1,25 @@
+package com.secure.notes.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Arrays;
+import java.util.List;
+
+// 서명검증이 끝난 jwt 토큰의 내용 (캐시에 저장)
+public record VerifiedToken(String subject, List<String> roles, long expiresAtMillis,
+                            Long userId, Long securityVersion) {
+
+    public static VerifiedToken from(Claims claims) {
+        String roles = claims.get("roles", String.class);
+        List<String> roleList = (roles == null || roles.isBlank())
+                ? List.of()
+                : Arrays.stream(roles.split(",")).map(String::trim).toList();
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+        return new VerifiedToken(claims.getSubject(), roleList, expiresAt,
+                claims.get("uid", Long.class), claims.get("sv", Long.class));
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,51 @@
+package com.secure.notes.security.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// 서버 구동시 이 하드웨어에서 BCrypt 해싱 시간을 재서 시간 예산 안에 들어오는 가장 강한 cost 를 고른다.
+public final class BCryptStrengthTuner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BCryptStrengthTuner.class);
+    private static final String SAMPLE_PASSWORD = "strength-calibration";
+
+    private BCryptStrengthTuner() {
+    }
+
+    public static int tune(long budgetMs, int minStrength, int maxStrength) {
+        // JIT 워밍업
+        new BCryptPasswordEncoder(minStrength).encode(SAMPLE_PASSWORD);
+
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long elapsedMs = measure(strength);
+            logger.info("BCrypt strength {} takes {} ms", strength, elapsedMs);
+            if (elapsedMs > budgetMs) {
+                if (strength == minStrength) {
+                    logger.warn("BCrypt minimum strength {} exceeds the {} ms budget", minStrength, budgetMs);
+                }
+                break;
+            }
+            chosen = strength;
+            // cost 가 1 오르면 시간은 두배
+            if (elapsedMs * 2 > budgetMs) {
+                break;
+            }
+        }
+        logger.info("Using BCrypt strength {} for a {} ms budget", chosen, budgetMs);
+        return chosen;
+    }
+
+    // 두번 재서 빠른 쪽 (GC 등 잡음 제거)
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+        return best;
+    }
+}
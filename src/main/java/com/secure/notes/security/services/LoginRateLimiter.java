@@ -0,0 +1,124 @@
+package com.secure.notes.security.services;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 로그인/비번찾기/비번리셋 요청 제한 (IP 별, 유저네임/이메일 별 토큰버킷)
+// 버킷은 락 스트라이프마다 LRU 로 개수가 제한되어 메모리가 일정하다. 해싱이나 DB 작업 전에 호출할 것.
+@Component
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    // 버킷 최대 토큰 수 (연속으로 허용되는 요청 수)
+    @Value("${spring.app.loginThrottle.capacity:10}")
+    private int capacity;
+
+    // 분당 다시 채워지는 토큰 수
+    @Value("${spring.app.loginThrottle.refillPerMinute:10}")
+    private int refillPerMinute;
+
+    // 전체 버킷 최대 개수 (넘치면 가장 오래 안쓴 버킷 제거)
+    @Value("${spring.app.loginThrottle.maxKeys:100000}")
+    private int maxKeys;
+
+    private Stripe[] stripes;
+    private double refillPerNano;
+    private final Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        int perStripe = Math.max(1, maxKeys / STRIPES);
+        stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        refillPerNano = refillPerMinute / 60_000_000_000d;
+    }
+
+    // action: signin, forgot-password, reset-password / account 는 null 이면 IP 만 검사
+    public boolean tryAcquire(String action, String clientIp, String account) {
+        if (!tryAcquireBucket(action + "|ip|" + clientIp)) {
+            reject(action + ".ip");
+            return false;
+        }
+        if (account != null && !account.isBlank()
+                && !tryAcquireBucket(action + "|account|" + account.trim().toLowerCase(Locale.ROOT))) {
+            reject(action + ".account");
+            return false;
+        }
+        return true;
+    }
+
+    // 거절 횟수 (공격 모니터링용)
+    public Map<String, Long> getRejectionCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        rejections.forEach((key, adder) -> counts.put(key, adder.sum()));
+        return counts;
+    }
+
+    public int getTrackedKeys() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.buckets.size();
+            }
+        }
+        return total;
+    }
+
+    private boolean tryAcquireBucket(String key) {
+        Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        long now = System.nanoTime();
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            }
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.lastRefillNanos) * refillPerNano);
+            bucket.lastRefillNanos = now;
+            if (bucket.tokens < 1) {
+                return false;
+            }
+            bucket.tokens -= 1;
+            return true;
+        }
+    }
+
+    private void reject(String counter) {
+        rejections.computeIfAbsent(counter, key -> new LongAdder()).increment();
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long lastRefillNanos;
+
+        Bucket(double tokens, long lastRefillNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = lastRefillNanos;
+        }
+    }
+
+    // 스트라이프마다 접근순서 LinkedHashMap (가장 오래 안쓴 버킷부터 제거)
+    private static final class Stripe {
+        final LinkedHashMap<String, Bucket> buckets;
+
+        Stripe(int maxEntries) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+    }
+}
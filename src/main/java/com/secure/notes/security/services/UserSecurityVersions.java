@@ -0,0 +1,26 @@
+package com.secure.notes.security.services;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// 유저별 보안 버전 테이블 (메모리)
+// 계정 잠금/사용여부/권한/비번이 바뀌면 버전을 올리고, jwt 의 sv claim 과 다르면 그 토큰은 DB 에서 유저를 다시 읽는다.
+// 기본값은 서버 구동 시각이라 재시작 전에 발행된 토큰은 모두 DB 경로로 돌아간다. (노드마다 따로 관리됨)
+@Component
+public class UserSecurityVersions {
+
+    private final long floor = System.currentTimeMillis();
+    private final ConcurrentHashMap<String, Long> versions = new ConcurrentHashMap<>();
+
+    // 현재 보안 버전
+    public long current(String username) {
+        return versions.getOrDefault(username, floor);
+    }
+
+    // 보안 관련 정보가 바뀌었을때 버전 올리기
+    public long bump(String username) {
+        return versions.compute(username,
+                (key, old) -> Math.max((old == null ? floor : old) + 1, System.currentTimeMillis()));
+    }
+}
@@ -1,9 +1,12 @@
 package com.secure.notes.services;
 
+import com.secure.notes.dtos.AuditLogSummary;
 import com.secure.notes.models.AuditLog;
 import com.secure.notes.models.Note;
+import com.secure.notes.util.NoteHistory;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface AuditLogService {
 
@@ -11,7 +14,19 @@ public interface AuditLogService {
     void logNoteUpdate(String username, Note note);
     void logNoteDeletion(String username, Long noteId);
 
+    // 부분 수정 로그 (바뀐 구간 요약 + 수정 후 내용 이력)
+    void logNotePatch(String username, Note note, String summary);
+
+    // 일괄 작업 로그 (한번에 저장)
+    void logNoteCreations(String username, List<Note> notes);
+    void logNoteUpdates(String username, List<Note> notes);
+    void logNoteDeletions(String username, List<Long> noteIds);
+
     List<AuditLog> getAllAuditLogs();
 
-    List<AuditLog> getAuditLogsForNoteId(Long id);
+    // 내용 없이 메타데이터만
+    List<AuditLogSummary> getAuditLogsForNoteId(Long id);
+
+    // 로그 시점의 노트 전체 내용 (이력에서 복원)
+    Optional<NoteHistory.Content> getAuditLogContent(Long id);
 }
@@ -1,8 +1,17 @@
 package com.secure.notes.services;
 
+import com.secure.notes.dtos.NoteBatchUpdate;
+import com.secure.notes.dtos.NoteChanges;
+import com.secure.notes.dtos.NotePage;
+import com.secure.notes.dtos.NotePatchResponse;
+import com.secure.notes.dtos.NoteSummary;
+import com.secure.notes.dtos.NoteTextEdit;
 import com.secure.notes.models.Note;
+import com.secure.notes.util.NoteBlobStore;
+import com.secure.notes.util.NoteCursor;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface NoteService {
 
@@ -12,9 +21,41 @@ public interface NoteService {
     // 유저가 id값을 통해 노트를 수정한다.
     Note updateNoteForUser(Long noteId, String content, String username);
 
+    // 파일로 저장된 큰 내용으로 노트를 만든다 / 수정한다.
+    Note createBlobNoteForUser(String username, NoteBlobStore.StoredBlob blob);
+
+    Note updateBlobNoteForUser(Long noteId, NoteBlobStore.StoredBlob blob, String username);
+
+    // 유저가 노트 일부를 바꾼다. (baseVersion 이 현재 버전과 다르면 NoteVersionConflictException)
+    NotePatchResponse patchNoteForUser(Long noteId, String username, Long baseVersion, List<NoteTextEdit> edits);
+
+    // 유저의 노트인지 확인한다. (아니면 NoteNotFoundException)
+    void checkNoteOwner(Long noteId, String username);
+
     // 유저가 id값을 통해 노트를 삭제한다.
     void deleteNoteForUser(Long noteId, String username);
 
+    // 유저가 노트 여러개를 한번에 만든다.
+    List<Note> createNotesForUser(String username, List<String> contents);
+
+    // 유저가 노트 여러개를 한번에 수정한다. (하나라도 본인 노트가 아니면 전부 취소)
+    List<Note> updateNotesForUser(String username, List<NoteBatchUpdate> updates);
+
+    // 유저가 노트 여러개를 한번에 삭제한다. (하나라도 본인 노트가 아니면 전부 취소)
+    int deleteNotesForUser(String username, List<Long> noteIds);
+
     // 유저의 모든 노트를 가져온다.
     List<Note> getNotesForUser(String username);
+
+    // since 이후 바뀐 노트와 삭제된 노트 id 를 가져온다. (since 가 null 이면 처음부터)
+    NoteChanges getChangesForUser(String username, String since, Integer limit);
+
+    // 유저의 노트를 검색한다. (검색어 단어가 모두 들어간 노트, 관련도 순)
+    List<NoteSummary> searchNotesForUser(String username, String query, Integer limit);
+
+    // 유저의 노트 한개를 내용까지 가져온다.
+    Optional<Note> getNoteForUser(Long noteId, String username);
+
+    // 유저의 노트 요약을 한 페이지씩 가져온다. (cursor 가 없으면 첫 페이지)
+    NotePage getNotesPageForUser(String username, String cursor, Integer limit, NoteCursor.Order order);
 }
@@ -48,4 +48,7 @@ public interface UserService {
     // oauth 가입한 유저를 새로 입력
     User registerUser(User user);
 
+    // oauth 로그인 유저를 이메일로 한번 조회하고 없으면 가입시킨다.
+    User provisionOAuthUser(String provider, String email, String username);
+
 }
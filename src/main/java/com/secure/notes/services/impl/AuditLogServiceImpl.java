@@ -1,14 +1,19 @@
 package com.secure.notes.services.impl;
 
+import com.secure.notes.dtos.AuditLogSummary;
 import com.secure.notes.models.AuditLog;
 import com.secure.notes.models.Note;
 import com.secure.notes.repositories.AuditLogRepository;
 import com.secure.notes.services.AuditLogService;
+import com.secure.notes.util.AuditLogWriter;
+import com.secure.notes.util.NoteHistory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class AuditLogServiceImpl implements AuditLogService {
@@ -16,6 +21,14 @@ public class AuditLogServiceImpl implements AuditLogService {
     @Autowired
     private AuditLogRepository auditLogRepository;
 
+    // 감사로그 INSERT 는 커밋 후 백그라운드에서 모아서 저장 (ETag 도 저장된 뒤에 올림)
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    // 노트 내용은 로그마다 복사하지 않고 이력(스냅샷 + 델타)에 저장
+    @Autowired
+    private NoteHistory noteHistory;
+
     // 노트 생성 로그
     @Override
     public void logNoteCreation(String username, Note note) {
@@ -23,9 +36,9 @@ public class AuditLogServiceImpl implements AuditLogService {
         log.setAction("CREATE");
         log.setUsername(username);
         log.setNoteId(note.getId());
-        log.setNoteContent(note.getContent());
+        log.setRevisionId(noteHistory.record(List.of(note)).get(0));
         log.setTimestamp(LocalDateTime.now());
-        auditLogRepository.save(log);
+        auditLogWriter.write(List.of(log));
     }
 
     // 노트 수정 로그
@@ -35,9 +48,9 @@ public class AuditLogServiceImpl implements AuditLogService {
         log.setAction("UPDATE");
         log.setUsername(username);
         log.setNoteId(note.getId());
-        log.setNoteContent(note.getContent());
+        log.setRevisionId(noteHistory.record(List.of(note)).get(0));
         log.setTimestamp(LocalDateTime.now());
-        auditLogRepository.save(log);
+        auditLogWriter.write(List.of(log));
     }
 
     // 노트 삭제 로그
@@ -48,7 +61,66 @@ public class AuditLogServiceImpl implements AuditLogService {
         log.setUsername(username);
         log.setNoteId(noteId);
         log.setTimestamp(LocalDateTime.now());
-        auditLogRepository.save(log);
+        noteHistory.forget(noteId);
+        auditLogWriter.write(List.of(log));
+    }
+
+    // 노트 부분수정 로그
+    @Override
+    public void logNotePatch(String username, Note note, String summary) {
+        AuditLog log = new AuditLog();
+        log.setAction("PATCH");
+        log.setUsername(username);
+        log.setNoteId(note.getId());
+        log.setNoteContent(summary);
+        log.setRevisionId(noteHistory.record(List.of(note)).get(0));
+        log.setTimestamp(LocalDateTime.now());
+        auditLogWriter.write(List.of(log));
+    }
+
+    // 일괄 생성 로그
+    @Override
+    public void logNoteCreations(String username, List<Note> notes) {
+        auditLogWriter.write(noteLogs("CREATE", username, notes));
+    }
+
+    // 일괄 수정 로그
+    @Override
+    public void logNoteUpdates(String username, List<Note> notes) {
+        auditLogWriter.write(noteLogs("UPDATE", username, notes));
+    }
+
+    // 일괄 삭제 로그
+    @Override
+    public void logNoteDeletions(String username, List<Long> noteIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditLog> logs = new ArrayList<>(noteIds.size());
+        for (Long noteId : noteIds) {
+            AuditLog log = new AuditLog();
+            log.setAction("DELETE");
+            log.setUsername(username);
+            log.setNoteId(noteId);
+            log.setTimestamp(now);
+            logs.add(log);
+            noteHistory.forget(noteId);
+        }
+        auditLogWriter.write(logs);
+    }
+
+    private List<AuditLog> noteLogs(String action, String username, List<Note> notes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> revisionIds = noteHistory.record(notes);
+        List<AuditLog> logs = new ArrayList<>(notes.size());
+        for (int i = 0; i < notes.size(); i++) {
+            AuditLog log = new AuditLog();
+            log.setAction(action);
+            log.setUsername(username);
+            log.setNoteId(notes.get(i).getId());
+            log.setRevisionId(revisionIds.get(i));
+            log.setTimestamp(now);
+            logs.add(log);
+        }
+        return logs;
     }
 
     @Override
@@ -57,7 +129,24 @@ public class AuditLogServiceImpl implements AuditLogService {
     }
 
     @Override
-    public List<AuditLog> getAuditLogsForNoteId(Long id) {
-        return auditLogRepository.findByNoteId(id);
+    public List<AuditLogSummary> getAuditLogsForNoteId(Long id) {
+        return auditLogRepository.findSummariesByNoteIdOrderByIdAsc(id);
+    }
+
+    // 새 로그는 이력에서 복원, 이전 안된 예전 로그는 들고 있는 사본 그대로
+    @Override
+    public Optional<NoteHistory.Content> getAuditLogContent(Long id) {
+        AuditLog log = auditLogRepository.findById(id).orElse(null);
+        if (log == null) {
+            return Optional.empty();
+        }
+        if (log.getRevisionId() != null) {
+            return noteHistory.reconstruct(log.getRevisionId());
+        }
+        boolean fullCopy = "CREATE".equals(log.getAction()) || "UPDATE".equals(log.getAction());
+        if (!fullCopy || (log.getNoteContent() == null && log.getBlobRef() == null)) {
+            return Optional.empty();    // 예전 부분수정 로그는 요약만 있음
+        }
+        return Optional.of(new NoteHistory.Content(log.getNoteContent(), log.getBlobRef()));
     }
 }
@@ -1,13 +1,46 @@
 package com.secure.notes.services.impl;
 
+import com.secure.notes.dtos.NoteBatchUpdate;
+import com.secure.notes.dtos.NoteChanges;
+import com.secure.notes.dtos.NoteChangedEvent;
+import com.secure.notes.dtos.NotePage;
+import com.secure.notes.dtos.NotePatchResponse;
+import com.secure.notes.dtos.NoteTextEdit;
+import com.secure.notes.dtos.NoteSummary;
+import com.secure.notes.exceptions.NoteNotFoundException;
+import com.secure.notes.exceptions.NoteVersionConflictException;
 import com.secure.notes.models.Note;
+import com.secure.notes.models.NoteTombstone;
 import com.secure.notes.repositories.NoteRepository;
+import com.secure.notes.repositories.NoteTombstoneRepository;
 import com.secure.notes.services.AuditLogService;
 import com.secure.notes.services.NoteService;
+import com.secure.notes.util.ContentVersions;
+import com.secure.notes.util.NoteBlobStore;
+import com.secure.notes.util.NoteCache;
+import com.secure.notes.util.NoteChangeSequence;
+import com.secure.notes.util.NoteCursor;
+import com.secure.notes.util.NoteSearchIndex;
+import com.secure.notes.util.NoteTextPatcher;
+import com.secure.notes.util.NoteWriteCoalescer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Optional;
 
 @Service
 public class NoteServiceImpl implements NoteService {
@@ -16,40 +49,434 @@ public class NoteServiceImpl implements NoteService {
     @Autowired
     private NoteRepository noteRepository;
 
+    @Autowired
+    private NoteTombstoneRepository tombstoneRepository;
+
     @Autowired
     private AuditLogService auditLogService;
 
+    // 변경 순번 (변경분 동기화용)
+    @Autowired
+    private NoteChangeSequence changeSequence;
+
+    // 유저별 노트 목록 캐시 (생성/수정/삭제시 같이 갱신, 트랜잭션 커밋 후에 반영됨)
+    @Autowired
+    private NoteCache noteCache;
+
+    // 유저별 노트 목록 ETag 버전 (쓰기때마다 올림)
+    @Autowired
+    private ContentVersions contentVersions;
+
+    // 노트 변경 이벤트 (커밋 후 SSE 로 전달)
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // 노트 검색 색인 (변경 이벤트로 갱신)
+    @Autowired
+    private NoteSearchIndex searchIndex;
+
+    // 자동저장 수정 모으기 (spring.app.notes.coalesce.windowMs > 0 일때만)
+    @Autowired
+    private NoteWriteCoalescer writeCoalescer;
+
+    // 페이지 크기 기본값 / 최대값
+    @Value("${spring.app.notes.defaultPageSize:50}")
+    private int defaultPageSize;
+
+    @Value("${spring.app.notes.maxPageSize:200}")
+    private int maxPageSize;
+
+    // 첫 페이지 기준 시각 (MySQL datetime 최대값)
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    // 감사로그 note_content 컬럼 길이
+    private static final int AUDIT_SUMMARY_LENGTH = 255;
+
+    // 일괄 작업 한번에 받는 최대 개수
+    @Value("${spring.app.notes.maxBatchSize:1000}")
+    private int maxBatchSize;
+
+    // 목록 미리보기 글자수
+    @Value("${spring.app.notes.previewLength:200}")
+    private int previewLength;
+
+    @PostConstruct
+    public void checkPreviewLength() {
+        previewLength = Math.min(previewLength, Note.PREVIEW_MAX_LENGTH);
+    }
+
+    // 검색 결과 최대 개수
+    @Value("${spring.app.notes.search.maxResults:100}")
+    private int maxSearchResults;
+
     // 새 노트 생성
     @Override
+    @Transactional
     public Note createNoteForUser(String username, String content) {
         Note note = new Note();
         note.setContent(content);
         note.setOwnerUsername(username);
+        note.setChangeSeq(changeSequence.next());
         Note savedNote = noteRepository.save(note);
+        noteCache.put(savedNote);
         auditLogService.logNoteCreation(username, note);    // 로그 생성
+        contentVersions.bumpNotes(username);
+        publish(NoteChangedEvent.Type.CREATED, savedNote);
         return savedNote;
     }
 
+    // 내 노트가 아니면 0건 수정 -> 404
     @Override
+    @Transactional
     public Note updateNoteForUser(Long noteId, String content, String username) {
-        Note note = noteRepository.findById(noteId).orElseThrow(()
-                -> new RuntimeException("Note not found"));
-        note.setContent(content);
-        Note updatedNote = noteRepository.save(note);
-        auditLogService.logNoteUpdate(username, note);   // 로그 수정
+        Note buffered = writeCoalescer.submit(noteId, username, content);
+        if (buffered != null) {
+            contentVersions.bumpNotes(username);
+            // 순번 없는 이벤트 (SSE 알림용, 검색 색인은 실제로 저장될때의 이벤트로 갱신)
+            publish(NoteChangedEvent.Type.UPDATED, buffered);
+            return buffered;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long changeSeq = changeSequence.next();
+        int updated = noteRepository.updateContent(noteId, username, content, content.length(),
+                Note.previewOf(content), now, changeSeq);
+        if (updated == 0) {
+            throw new NoteNotFoundException(noteId);
+        }
+        // 다시 읽지 않고 수정된 값으로 응답/로그를 만든다.
+        Note updatedNote = new Note();
+        updatedNote.setId(noteId);
+        updatedNote.setContent(content);
+        updatedNote.setOwnerUsername(username);
+        updatedNote.setContentLength(content.length());
+        updatedNote.setUpdatedDate(now);
+        updatedNote.setVersion(noteRepository.findVersionById(noteId));
+        updatedNote.setChangeSeq(changeSeq);
+        auditLogService.logNoteUpdate(username, updatedNote);   // 로그 수정
+        noteCache.put(updatedNote);
+        contentVersions.bumpNotes(username);
+        publish(NoteChangedEvent.Type.UPDATED, updatedNote);
+        return updatedNote;
+    }
+
+    // 큰 노트: 내용은 이미 파일로 저장됨 (행에는 참조, 길이, 미리보기만)
+    @Override
+    @Transactional
+    public Note createBlobNoteForUser(String username, NoteBlobStore.StoredBlob blob) {
+        Note note = new Note();
+        note.setOwnerUsername(username);
+        note.setBlobRef(blob.ref());
+        note.setContentLength(blob.contentLength());
+        note.setContentPreview(blob.preview());
+        note.setChangeSeq(changeSequence.next());
+        Note savedNote = noteRepository.save(note);
+        noteCache.put(savedNote);
+        auditLogService.logNoteCreation(username, savedNote);
+        contentVersions.bumpNotes(username);
+        publish(NoteChangedEvent.Type.CREATED, savedNote);
+        return savedNote;
+    }
+
+    @Override
+    @Transactional
+    public Note updateBlobNoteForUser(Long noteId, NoteBlobStore.StoredBlob blob, String username) {
+        writeCoalescer.discard(noteId, username);
+        LocalDateTime now = LocalDateTime.now();
+        long changeSeq = changeSequence.next();
+        int updated = noteRepository.updateBlob(noteId, username, blob.ref(), blob.contentLength(), blob.preview(),
+                now, changeSeq);
+        if (updated == 0) {
+            throw new NoteNotFoundException(noteId);
+        }
+        Note updatedNote = new Note();
+        updatedNote.setId(noteId);
+        updatedNote.setOwnerUsername(username);
+        updatedNote.setBlobRef(blob.ref());
+        updatedNote.setContentLength(blob.contentLength());
+        updatedNote.setContentPreview(blob.preview());
+        updatedNote.setUpdatedDate(now);
+        updatedNote.setVersion(noteRepository.findVersionById(noteId));
+        updatedNote.setChangeSeq(changeSeq);
+        auditLogService.logNoteUpdate(username, updatedNote);
+        noteCache.put(updatedNote);
+        contentVersions.bumpNotes(username);
+        publish(NoteChangedEvent.Type.UPDATED, updatedNote);
         return updatedNote;
     }
 
+    // baseVersion 이 다르면 409, 읽은 뒤 다른 요청이 먼저 커밋하면 flush 때 @Version 검사에서 실패 (역시 409)
+    @Override
+    @Transactional
+    public NotePatchResponse patchNoteForUser(Long noteId, String username, Long baseVersion, List<NoteTextEdit> edits) {
+        writeCoalescer.flush(noteId);
+        Note note = noteRepository.findByIdAndOwnerUsername(noteId, username)
+                .orElseThrow(() -> new NoteNotFoundException(noteId));
+        if (note.getBlobRef() != null) {
+            throw new IllegalArgumentException("Large notes stored as files cannot be patched");
+        }
+        if (baseVersion == null || !baseVersion.equals(note.getVersion())) {
+            throw new NoteVersionConflictException(noteId, note.getVersion());
+        }
+        note.setContent(NoteTextPatcher.apply(note.getContent(), edits));
+        note.setChangeSeq(changeSequence.next());
+        Note savedNote = noteRepository.saveAndFlush(note);
+        auditLogService.logNotePatch(username, savedNote, NoteTextPatcher.describe(edits, AUDIT_SUMMARY_LENGTH));
+        noteCache.put(savedNote);
+        contentVersions.bumpNotes(username);
+        publish(NoteChangedEvent.Type.UPDATED, savedNote);
+        return new NotePatchResponse(savedNote.getId(), savedNote.getVersion(),
+                savedNote.getContentLength(), savedNote.getUpdatedDate());
+    }
+
     @Override
+    public void checkNoteOwner(Long noteId, String username) {
+        if (!noteRepository.existsByIdAndOwnerUsername(noteId, username)) {
+            throw new NoteNotFoundException(noteId);
+        }
+    }
+
+    @Override
+    @Transactional
     public void deleteNoteForUser(Long noteId, String username) {
-        Note note = noteRepository.findById(noteId).orElseThrow(()->new RuntimeException("Note not found"));
-        noteRepository.delete(note);
+        writeCoalescer.discard(noteId, username);
+        if (noteRepository.deleteOwned(noteId, username) == 0) {
+            throw new NoteNotFoundException(noteId);
+        }
+        long changeSeq = changeSequence.next();
+        tombstoneRepository.save(new NoteTombstone(noteId, username, changeSeq));
         auditLogService.logNoteDeletion(username, noteId);  // 로그 삭제
+        noteCache.remove(username, noteId);
+        contentVersions.bumpNotes(username);
+        eventPublisher.publishEvent(NoteChangedEvent.deleted(username, noteId, changeSeq));
+    }
+
+    // id 는 시퀀스에서 미리 받아두므로 insert 가 jdbc 배치로 나간다. (hibernate.jdbc.batch_size)
+    @Override
+    @Transactional
+    public List<Note> createNotesForUser(String username, List<String> contents) {
+        checkBatchSize(contents.size());
+        List<Note> notes = new ArrayList<>(contents.size());
+        long changeSeq = changeSequence.nextBlock(contents.size());
+        for (String content : contents) {
+            Note note = new Note();
+            note.setContent(content);
+            note.setOwnerUsername(username);
+            note.setChangeSeq(changeSeq++);
+            notes.add(note);
+        }
+        List<Note> savedNotes = noteRepository.saveAllAndFlush(notes);
+        auditLogService.logNoteCreations(username, savedNotes);
+        noteCache.invalidate(username);
+        contentVersions.bumpNotes(username);
+        savedNotes.forEach(note -> publish(NoteChangedEvent.Type.CREATED, note));
+        return savedNotes;
+    }
+
+    // 본인 노트만 읽어서 바꾸고 커밋때 update 를 배치로 보낸다. (같은 id 가 여러번 오면 마지막 값)
+    @Override
+    @Transactional
+    public List<Note> updateNotesForUser(String username, List<NoteBatchUpdate> updates) {
+        checkBatchSize(updates.size());
+        Map<Long, String> contents = new LinkedHashMap<>();
+        for (NoteBatchUpdate update : updates) {
+            if (update.getId() == null || update.getContent() == null) {
+                throw new IllegalArgumentException("Each update needs an id and content");
+            }
+            contents.put(update.getId(), update.getContent());
+        }
+        contents.keySet().forEach(writeCoalescer::flush);
+        List<Note> notes = noteRepository.findByOwnerUsernameAndIdIn(username, contents.keySet());
+        if (notes.size() != contents.size()) {
+            throw new NoteNotFoundException(firstMissing(contents.keySet(), notes.stream().map(Note::getId).toList()));
+        }
+        long changeSeq = changeSequence.nextBlock(notes.size());
+        for (Note note : notes) {
+            note.setContent(contents.get(note.getId()));
+            note.setBlobRef(null);
+            note.setChangeSeq(changeSeq++);
+        }
+        List<Note> savedNotes = noteRepository.saveAllAndFlush(notes);
+        auditLogService.logNoteUpdates(username, savedNotes);
+        noteCache.invalidate(username);
+        contentVersions.bumpNotes(username);
+        savedNotes.forEach(note -> publish(NoteChangedEvent.Type.UPDATED, note));
+        return savedNotes;
+    }
+
+    @Override
+    @Transactional
+    public int deleteNotesForUser(String username, List<Long> noteIds) {
+        checkBatchSize(noteIds.size());
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(noteIds);
+        List<Long> owned = noteRepository.findOwnedIds(username, ids);
+        if (owned.size() != ids.size()) {
+            throw new NoteNotFoundException(firstMissing(ids, owned));
+        }
+        ids.forEach(noteId -> writeCoalescer.discard(noteId, username));
+        int deleted = noteRepository.deleteOwnedIn(username, ids);
+        long changeSeq = changeSequence.nextBlock(ids.size());
+        List<NoteTombstone> tombstones = new ArrayList<>(ids.size());
+        for (Long noteId : ids) {
+            tombstones.add(new NoteTombstone(noteId, username, changeSeq++));
+        }
+        tombstoneRepository.saveAll(tombstones);
+        auditLogService.logNoteDeletions(username, new ArrayList<>(ids));
+        noteCache.invalidate(username);
+        contentVersions.bumpNotes(username);
+        tombstones.forEach(tombstone -> eventPublisher.publishEvent(
+                NoteChangedEvent.deleted(username, tombstone.getNoteId(), tombstone.getChangeSeq())));
+        return deleted;
+    }
+
+    private void publish(NoteChangedEvent.Type type, Note note) {
+        eventPublisher.publishEvent(new NoteChangedEvent(type, note.getOwnerUsername(), note.getId(),
+                note.getVersion(), note.getChangeSeq(), note.getUpdatedDate(), note.getContent()));
+    }
+
+    private void checkBatchSize(int size) {
+        if (size == 0 || size > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + maxBatchSize);
+        }
+    }
+
+    private static Long firstMissing(Iterable<Long> requested, List<Long> found) {
+        Set<Long> foundIds = new HashSet<>(found);
+        for (Long id : requested) {
+            if (!foundIds.contains(id)) {
+                return id;
+            }
+        }
+        return null;
     }
 
     @Override
     public List<Note> getNotesForUser(String username) {
-        List<Note> personalNotes = noteRepository.findByOwnerUsername(username);
-        return personalNotes;
+        List<Note> personalNotes = noteCache.get(username, noteRepository::findByOwnerUsername);
+        return writeCoalescer.overlay(personalNotes);
+    }
+
+    // 커밋이 끝난 순번(safeHighWater)까지만 읽어서 늦게 커밋되는 변경을 건너뛰지 않는다.
+    // 노트와 삭제기록을 순번 순서로 합쳐 limit 개까지, 잘리면 마지막 순번이 다음 cursor
+    @Override
+    public NoteChanges getChangesForUser(String username, String since, Integer limit) {
+        long from = parseChangeCursor(since);
+        long upTo = changeSequence.safeHighWater();
+        int pageSize = Math.min(limit != null && limit > 0 ? limit : maxPageSize, maxBatchSize);
+        if (from >= upTo) {
+            return new NoteChanges(List.of(), List.of(), Long.toString(Math.max(from, upTo)), false);
+        }
+
+        Limit fetch = Limit.of(pageSize + 1);
+        List<Note> notes = noteRepository
+                .findByOwnerUsernameAndChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(
+                        username, from, upTo, fetch);
+        List<NoteTombstone> tombstones = tombstoneRepository
+                .findByOwnerUsernameAndChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeqAsc(
+                        username, from, upTo, fetch);
+
+        List<Note> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        int n = 0;
+        int t = 0;
+        long cursor = upTo;
+        while (n < notes.size() || t < tombstones.size()) {
+            boolean takeNote = t >= tombstones.size()
+                    || (n < notes.size() && notes.get(n).getChangeSeq() < tombstones.get(t).getChangeSeq());
+            long seq = takeNote ? notes.get(n).getChangeSeq() : tombstones.get(t).getChangeSeq();
+            if (changed.size() + deleted.size() == pageSize) {
+                return new NoteChanges(changed, deleted, Long.toString(cursor), true);
+            }
+            if (takeNote) {
+                changed.add(writeCoalescer.overlay(notes.get(n++)));
+            } else {
+                deleted.add(tombstones.get(t++).getNoteId());
+            }
+            cursor = seq;
+        }
+        return new NoteChanges(changed, deleted, Long.toString(upTo), false);
+    }
+
+    private static long parseChangeCursor(String since) {
+        if (since == null || since.isBlank()) {
+            return 0L;
+        }
+        try {
+            long value = Long.parseLong(since.trim());
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    // 색인에서 순위가 정해진 id 를 받아 요약은 기본키 조회로 가져오고 순위대로 다시 정렬
+    @Override
+    public List<NoteSummary> searchNotesForUser(String username, String query, Integer limit) {
+        if (!searchIndex.isEnabled()) {
+            throw new IllegalStateException("Note search is disabled");
+        }
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is empty");
+        }
+        int size = Math.min(limit != null && limit > 0 ? limit : defaultPageSize, maxSearchResults);
+        long[] ranked = searchIndex.search(username, query, size);
+        if (ranked.length == 0) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(ranked.length);
+        for (long id : ranked) {
+            ids.add(id);
+        }
+        Map<Long, NoteSummary> byId = new HashMap<>();
+        for (NoteSummary summary : noteRepository.findSummariesByIds(username, ids, previewLength)) {
+            byId.put(summary.getId(), summary);
+        }
+        List<NoteSummary> results = new ArrayList<>(ranked.length);
+        for (Long id : ids) {
+            NoteSummary summary = byId.get(id);
+            if (summary != null) {
+                results.add(summary);
+            }
+        }
+        return writeCoalescer.overlaySummaries(results, previewLength);
+    }
+
+    @Override
+    public Optional<Note> getNoteForUser(Long noteId, String username) {
+        return noteRepository.findByIdAndOwnerUsername(noteId, username).map(writeCoalescer::overlay);
+    }
+
+    @Override
+    public NotePage getNotesPageForUser(String username, String cursor, Integer limit, NoteCursor.Order order) {
+        int pageSize = Math.min(limit != null && limit > 0 ? limit : defaultPageSize, maxPageSize);
+        NoteCursor after = cursor != null ? NoteCursor.decode(cursor) : null;
+        // 이어받기 토큰이 있으면 토큰의 정렬방식을 따른다.
+        NoteCursor.Order sort = after != null ? after.order() : order;
+
+        // 한개 더 가져와서 다음 페이지가 있는지 확인
+        Limit fetch = Limit.of(pageSize + 1);
+        List<NoteSummary> notes = switch (sort) {
+            case ASC -> noteRepository.findSummariesAfterId(username,
+                    after != null ? after.lastId() : 0L, previewLength, fetch);
+            case DESC -> noteRepository.findSummariesBeforeId(username,
+                    after != null ? after.lastId() : Long.MAX_VALUE, previewLength, fetch);
+            case UPDATED -> noteRepository.findSummariesUpdatedBefore(username,
+                    after != null ? after.lastUpdated() : LATEST,
+                    after != null ? after.lastId() : Long.MAX_VALUE, previewLength, fetch);
+        };
+
+        boolean hasMore = notes.size() > pageSize;
+        String nextCursor = null;
+        if (hasMore) {
+            // 커서는 DB 행 값으로 (저장 대기중인 수정의 updatedDate 로 만들면 다음 페이지 키셋이 어긋남)
+            NoteSummary last = notes.get(pageSize - 1);
+            nextCursor = new NoteCursor(sort, last.getId(),
+                    sort == NoteCursor.Order.UPDATED ? last.getUpdatedDate() : null).encode();
+        }
+        List<NoteSummary> items = writeCoalescer.overlaySummaries(hasMore ? notes.subList(0, pageSize) : notes,
+                previewLength);
+        return new NotePage(items, nextCursor, hasMore);
     }
 }
@@ -1,17 +1,20 @@
 package com.secure.notes.services.impl;
 
 import com.secure.notes.dtos.UserDTO;
+import com.secure.notes.exceptions.PasswordHashingRejectedException;
 import com.secure.notes.models.AppRole;
 import com.secure.notes.models.PasswordResetToken;
 import com.secure.notes.models.Role;
 import com.secure.notes.models.User;
 import com.secure.notes.repositories.PasswordResetTokenRepository;
-import com.secure.notes.repositories.RoleRepository;
 import com.secure.notes.repositories.UserRepository;
+import com.secure.notes.security.services.UserSecurityVersions;
 import com.secure.notes.services.UserService;
 import com.secure.notes.util.EmailService;
+import com.secure.notes.util.RoleRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -28,7 +31,7 @@ public class UserServiceImpl implements UserService {
     private UserRepository userRepository;
 
     @Autowired
-    RoleRepository roleRepository;
+    RoleRegistry roleRegistry;
     @Autowired
     private PasswordEncoder passwordEncoder;
     @Value("${frontend.url}")
@@ -37,14 +40,17 @@ public class UserServiceImpl implements UserService {
     private PasswordResetTokenRepository passwordResetTokenRepository;
     @Autowired
     private EmailService emailService;
+    @Autowired
+    private UserSecurityVersions securityVersions;
 
     @Override
     public void updateUserRole(Long userId, String roleName) {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
         AppRole appRole = AppRole.valueOf(roleName);
-        Role role = roleRepository.findByRoleName(appRole).orElseThrow(() -> new RuntimeException("Role not found"));
+        Role role = roleRegistry.get(appRole);
         user.setRole(role);
         userRepository.save(user);
+        securityVersions.bump(user.getUserName());  // 발행된 토큰 무효화
     }
 
     @Override
@@ -89,11 +95,12 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("유저를 찾을수 없습니다."));
         user.setAccountNonLocked(!lock);
         userRepository.save(user);
+        securityVersions.bump(user.getUserName());  // 발행된 토큰 무효화
     }
 
     @Override
     public List<Role> getAllRoles() {
-        return roleRepository.findAll();
+        return roleRegistry.getAll();
     }
 
     @Override
@@ -101,6 +108,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("유저를 찾을수 없습니다."));
         user.setAccountNonExpired(!expire);
         userRepository.save(user);
+        securityVersions.bump(user.getUserName());  // 발행된 토큰 무효화
 
     }
 
@@ -109,6 +117,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("유저를 찾을수 없습니다."));
         user.setEnabled(enabled);
         userRepository.save(user);
+        securityVersions.bump(user.getUserName());  // 발행된 토큰 무효화
     }
 
     @Override
@@ -116,6 +125,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("유저를 찾을수 없습니다"));
         user.setCredentialsNonExpired(!expire);
         userRepository.save(user);
+        securityVersions.bump(user.getUserName());  // 발행된 토큰 무효화
 
     }
 
@@ -125,6 +135,9 @@ public class UserServiceImpl implements UserService {
             User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("유저를 찾을수 없습니다."));
             user.setPassword(passwordEncoder.encode(password));
             userRepository.save(user);
+            securityVersions.bump(user.getUserName());  // 발행된 토큰 무효화
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to update password");
         }
@@ -162,6 +175,7 @@ public class UserServiceImpl implements UserService {
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(newPassword));  // 새 비밃번호를 암호화 저장
         userRepository.save(user);  // 유저 업데이트
+        securityVersions.bump(user.getUserName());  // 발행된 토큰 무효화
 
         resetToken.setUsed(true);   // 토큰 사용했음
         passwordResetTokenRepository.save(resetToken);  // 토큰 업데이트(사용완료됨)
@@ -181,4 +195,21 @@ public class UserServiceImpl implements UserService {
 
     }
 
+    @Override
+    public User provisionOAuthUser(String provider, String email, String username) {
+        Optional<User> existing = userRepository.findByEmail(email);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        User newUser = new User(username, email);
+        newUser.setRole(roleRegistry.get(AppRole.ROLE_USER));
+        newUser.setSignUpMethod(provider);
+        try {
+            return userRepository.saveAndFlush(newUser);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 이메일로 동시에 첫 로그인 -> 먼저 저장된 유저 사용
+            return userRepository.findByEmail(email).orElseThrow(() -> e);
+        }
+    }
+
 }
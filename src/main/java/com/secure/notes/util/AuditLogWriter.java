@@ -0,0 +1,265 @@
+package com.secure.notes.util;
+
+import com.secure.notes.models.AuditLog;
+import com.secure.notes.repositories.AuditLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// 감사로그 저장 (노트 쓰기 요청 스레드에서 INSERT 를 빼고 백그라운드에서 모아서 배치 저장)
+// 노트 트랜잭션이 커밋된 뒤에 큐에 넣으므로 롤백된 변경은 로그에 남지 않는다.
+// 감사로그 ETag 는 로그가 실제로 저장된 뒤에 올린다. (저장 전에 올리면 304 없이 예전 목록을 새 ETag 로 줄 수 있음)
+// 배치 저장이 실패하면 한 행씩 다시 저장해서 문제 있는 행만 실패로 남긴다.
+// 종료할때는 먼저 큐를 닫고(이후 로그는 요청 스레드에서 바로 저장) 저장 스레드가 끝난 뒤에 남은 로그를 저장한다.
+// 넣는 쪽은 잠금 없이 넣고 나서 닫혔는지 다시 확인한다. 닫힌 뒤에 넣었고 마지막 저장도 이미 끝났으면 직접 꺼내 저장한다.
+@Component
+public class AuditLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    // SYNC: 요청 스레드에서 바로 저장 (예전 방식)
+    // ASYNC_FALLBACK: 큐에 넣고 꽉 차면 요청 스레드에서 저장 (로그 유실 없음)
+    // ASYNC_DROP: 큐에 넣고 꽉 차면 버림 (개수만 기록)
+    public enum Mode {
+        SYNC, ASYNC_FALLBACK, ASYNC_DROP
+    }
+
+    @Value("${spring.app.audit.writer.mode:ASYNC_FALLBACK}")
+    private Mode mode;
+
+    // 큐 크기 (2의 거듭제곱으로 올림)
+    @Value("${spring.app.audit.writer.capacity:8192}")
+    private int capacity;
+
+    // 한번에 저장하는 최대 개수 / 큐가 비었을때 기다리는 시간
+    @Value("${spring.app.audit.writer.batchSize:500}")
+    private int batchSize;
+
+    @Value("${spring.app.audit.writer.flushIntervalMs:50}")
+    private long flushIntervalMs;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BoundedRingBuffer<AuditLog> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread writer;
+    private volatile boolean running;
+    // 저장 스레드가 끝났는지 (이후 꺼내기는 drainLock 을 잡고 한 스레드씩)
+    private volatile boolean writerStopped;
+    private final Object drainLock = new Object();
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    // 아래는 저장 스레드만 씀
+    private volatile long written;
+    private volatile long batches;
+    private volatile long failed;
+    private volatile int lastBatchSize;
+    private volatile int maxBatchSize;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (mode == Mode.SYNC) {
+            return;
+        }
+        queue = new BoundedRingBuffer<>(capacity);
+        running = true;
+        writer = new Thread(this::run, "audit-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // 남은 로그를 모두 저장하고 종료 (이후 들어오는 로그는 바로 저장)
+    @PreDestroy
+    public void shutdown() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        // 꺼내는 스레드는 하나여야 하므로 저장 스레드가 끝날때까지 기다린다.
+        try {
+            while (true) {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+                if (!writer.isAlive()) {
+                    break;
+                }
+                logger.warn("Waiting for audit log writer to finish ({} logs queued)", queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while stopping audit log writer, {} queued logs were not written", queue.size());
+            return;
+        }
+        synchronized (drainLock) {
+            writerStopped = true;
+            drainAll();
+        }
+    }
+
+    // 로그 저장 (트랜잭션 안이면 커밋 후에 큐에 넣음)
+    public void write(List<AuditLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        if (!isAsync()) {
+            auditLogRepository.saveAll(logs);
+            contentVersions.bumpAudit(logs.stream().map(AuditLog::getNoteId).toList());
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(logs);
+                }
+            });
+        } else {
+            enqueue(logs);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", mode);
+        stats.put("capacity", queue != null ? queue.capacity() : 0);
+        stats.put("queueDepth", queue != null ? queue.size() : 0);
+        stats.put("enqueued", enqueued.get());
+        stats.put("written", written);
+        stats.put("batches", batches);
+        stats.put("averageBatchSize", batches > 0 ? (double) written / batches : 0.0);
+        stats.put("lastBatchSize", lastBatchSize);
+        stats.put("maxBatchSize", maxBatchSize);
+        stats.put("fallbacks", fallbacks.get());
+        stats.put("dropped", dropped.get());
+        stats.put("failed", failed);
+        return stats;
+    }
+
+    private boolean isAsync() {
+        return queue != null && running;
+    }
+
+    private void enqueue(List<AuditLog> logs) {
+        List<AuditLog> overflow = null;
+        boolean offered = false;
+        for (AuditLog log : logs) {
+            if (running && queue.offer(log)) {
+                enqueued.incrementAndGet();
+                offered = true;
+            } else if (mode == Mode.ASYNC_DROP && running) {
+                dropped.incrementAndGet();
+            } else {
+                if (overflow == null) {
+                    overflow = new ArrayList<>();
+                }
+                overflow.add(log);
+            }
+        }
+        if (offered && !running) {
+            // 넣는 사이에 닫힘: 저장 스레드가 이미 끝났으면 마지막 저장이 놓쳤을 수 있으니 직접 저장
+            // (아직 안 끝났으면 종료 쪽의 마지막 저장이 가져감)
+            synchronized (drainLock) {
+                if (writerStopped) {
+                    drainAll();
+                }
+            }
+        }
+        if (queue.size() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+        if (overflow != null) {
+            // 꽉 찼거나 종료중: 요청 스레드에서 직접 저장 (노트 트랜잭션은 이미 커밋됨 -> 새 트랜잭션)
+            fallbacks.addAndGet(overflow.size());
+            insert(overflow);
+        }
+    }
+
+    private void run() {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (queue.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(this, intervalNanos);
+                continue;
+            }
+            save(batch);
+            batch.clear();
+        }
+    }
+
+    // 종료할때 남은 로그 저장 (저장 스레드가 끝난 뒤에만, drainLock 안에서)
+    private void drainAll() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            save(batch);
+            batch.clear();
+        }
+    }
+
+    // 배치 하나를 한 트랜잭션으로 저장 (hibernate.jdbc.batch_size + rewriteBatchedStatements 로 여러 행 INSERT)
+    private void save(List<AuditLog> batch) {
+        try {
+            insert(batch);
+            written += batch.size();
+            batches++;
+            lastBatchSize = batch.size();
+            maxBatchSize = Math.max(maxBatchSize, batch.size());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to write {} audit logs as a batch, retrying one by one", batch.size(), e);
+            saveEach(batch);
+        }
+    }
+
+    // 한 행씩 저장 (잘못된 행 하나 때문에 배치 전체를 잃지 않도록)
+    private void saveEach(List<AuditLog> batch) {
+        int saved = 0;
+        for (AuditLog log : batch) {
+            // 실패한 배치 트랜잭션에서 받은 id 는 버리고 새로 받음
+            log.setId(null);
+            try {
+                insert(List.of(log));
+                saved++;
+            } catch (RuntimeException e) {
+                failed++;
+                logger.error("Failed to write audit log {} for note {}", log.getAction(), log.getNoteId(), e);
+            }
+        }
+        written += saved;
+    }
+
+    // 새 트랜잭션으로 저장하고 그 트랜잭션이 커밋된 뒤에 ETag 를 올린다.
+    private void insert(List<AuditLog> logs) {
+        transactionTemplate.executeWithoutResult(status -> {
+            auditLogRepository.saveAll(logs);
+            contentVersions.bumpAudit(logs.stream().map(AuditLog::getNoteId).distinct().toList());
+        });
+    }
+}
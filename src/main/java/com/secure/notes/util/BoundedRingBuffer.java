@@ -0,0 +1,77 @@
+package com.secure.notes.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// 고정 크기 락 없는 큐 (여러 스레드가 넣고 한 스레드가 꺼냄, Vyukov bounded queue 방식)
+// 칸마다 순번(sequence)을 두어 넣는 쪽은 tail 하나만 CAS 로 다투고, 꺼내는 쪽은 CAS 없이 순번만 확인한다.
+// 꽉 차면 기다리지 않고 false 를 돌려준다. (어떻게 할지는 호출한 쪽에서 결정)
+public final class BoundedRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();   // 다음에 넣을 위치
+    private final AtomicLong head = new AtomicLong();   // 다음에 꺼낼 위치 (꺼내는 스레드만 씀)
+
+    // capacity 는 2의 거듭제곱으로 올림
+    public BoundedRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        slots = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    // 넣기 (꽉 찼으면 false)
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, position + 1);     // 꺼내는 쪽에 공개
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return false;   // 한바퀴 전 칸이 아직 안 비워짐 = 꽉 참
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    // 최대 max 개를 꺼내 out 에 담고 꺼낸 개수를 돌려준다. (한 스레드에서만 호출)
+    public int drainTo(List<E> out, int max) {
+        long position = head.get();
+        int count = 0;
+        while (count < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;  // 비었거나 넣는 중
+            }
+            out.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.set(index, position + mask + 1);    // 다음 바퀴에 넣을 수 있게
+            position++;
+            count++;
+        }
+        head.set(position);
+        return count;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
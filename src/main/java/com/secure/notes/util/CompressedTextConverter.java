@@ -0,0 +1,99 @@
+package com.secure.notes.util;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// 긴 노트 내용을 Deflate 로 압축해서 저장한다. (Note.content, AuditLog.noteContent)
+// 컬럼은 텍스트 그대로 두고 앞에 표시문자를 붙인다: "\u0001D" + base64(deflate) = 압축, "\u0001R" + 원문 = 표시문자로 시작하는 원문.
+// 표시문자가 없으면 원문이므로 예전 행은 그대로 읽힌다. 압축해도 작아지지 않으면 원문으로 저장.
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    // 이 길이(글자) 이상만 압축 (짧은 내용은 base64 + 헤더 비용이 더 큼)
+    public static final int COMPRESS_THRESHOLD = 1024;
+
+    private static final char MARKER = '\u0001';
+    private static final String DEFLATED = MARKER + "D";
+    private static final String RAW = MARKER + "R";
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    @Override
+    public String convertToDatabaseColumn(String text) {
+        return encode(text);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String stored) {
+        return decode(stored);
+    }
+
+    public static String encode(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (text.length() >= COMPRESS_THRESHOLD) {
+            byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+            String compressed = DEFLATED + Base64.getEncoder().encodeToString(deflate(raw));
+            if (compressed.length() < text.length()) {
+                return compressed;
+            }
+        }
+        return text.isEmpty() || text.charAt(0) != MARKER ? text : RAW + text;
+    }
+
+    public static String decode(String stored) {
+        if (stored == null || stored.isEmpty() || stored.charAt(0) != MARKER) {
+            return stored;
+        }
+        if (stored.startsWith(DEFLATED)) {
+            byte[] compressed = Base64.getDecoder().decode(stored.substring(DEFLATED.length()));
+            return new String(inflate(compressed), StandardCharsets.UTF_8);
+        }
+        if (stored.startsWith(RAW)) {
+            return stored.substring(RAW.length());
+        }
+        return stored;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(compressed);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+        byte[] buffer = new byte[8192];
+        try {
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed note content");
+                }
+                out.write(buffer, 0, count);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed note content", e);
+        }
+        return out.toByteArray();
+    }
+}
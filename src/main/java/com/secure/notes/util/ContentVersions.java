@@ -0,0 +1,107 @@
+package com.secure.notes.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 조건부 GET (ETag / If-None-Match) 용 버전 테이블 (메모리)
+// 유저별 노트 목록 버전, 노트별 감사로그 버전을 쓰기때마다 올린다. 값은 전역 카운터에서 받아서 항상 새 값이다.
+// ETag 앞에 서버 구동 시각(epoch)을 붙여 재시작 전에 받은 ETag 는 일치하지 않는다. (노드마다 따로 관리됨)
+// 노트 목록 ETag 에는 유저 이름 해시를 넣는다. (같은 브라우저에서 다른 유저로 로그인해도 이전 유저의 목록으로 304 가 나가지 않게)
+// 버전 테이블은 크기를 제한하고, 밀려난 항목 대신 floor (밀려난 버전 중 최대값) 를 쓴다.
+// floor 는 줄어들지 않으므로 밀려났다가 다시 읽은 버전이 예전에 준 ETag 와 같아져도 그 사이 바뀐 내용은 없다.
+@Component
+public class ContentVersions {
+
+    // 유저/노트별 버전 최대 개수
+    @Value("${spring.app.etag.maxEntries:100000}")
+    private long maxEntries;
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong counter = new AtomicLong();
+    private final AtomicLong floor = new AtomicLong();
+    private Cache<String, Long> notesByUser;
+    private Cache<Long, Long> auditByNote;
+
+    @PostConstruct
+    public void init() {
+        notesByUser = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .<String, Long>evictionListener((username, version, cause) -> raiseFloor(version))
+                .build();
+        auditByNote = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .<Long, Long>evictionListener((noteId, version, cause) -> raiseFloor(version))
+                .build();
+    }
+
+    // 유저 노트 목록의 ETag (variant 는 같은 url 의 다른 응답 구분용, 예: 페이지 파라미터)
+    public String notesTag(String username, String variant) {
+        return tag("n", version(notesByUser.getIfPresent(username)), userHash(username)
+                + (variant != null ? "-" + variant : ""));
+    }
+
+    // 노트 감사로그 목록의 ETag
+    public String auditTag(Long noteId) {
+        return tag("a", version(auditByNote.getIfPresent(noteId)), null);
+    }
+
+    // 유저의 노트가 바뀌었을때 (트랜잭션 안이면 커밋 후에 올림)
+    public void bumpNotes(String username) {
+        afterCommit(() -> notesByUser.put(username, counter.incrementAndGet()));
+    }
+
+    // 노트의 감사로그가 추가되었을때 (트랜잭션 안이면 커밋 후에 올림)
+    public void bumpAudit(Iterable<Long> noteIds) {
+        afterCommit(() -> noteIds.forEach(noteId -> auditByNote.put(noteId, counter.incrementAndGet())));
+    }
+
+    private long version(Long version) {
+        return version != null ? version : floor.get();
+    }
+
+    private void raiseFloor(Long version) {
+        if (version != null) {
+            floor.accumulateAndGet(version, Math::max);
+        }
+    }
+
+    // 유저 이름 SHA-256 앞 8바이트 (ETag 에 이름을 그대로 드러내지 않음)
+    private static String userHash(String username) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(username.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // 커밋 전에 버전을 올리면 그 사이 들어온 조회가 예전 내용을 새 ETag 로 돌려줄 수 있다.
+    private static void afterCommit(Runnable bump) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump.run();
+                }
+            });
+        } else {
+            bump.run();
+        }
+    }
+
+    private String tag(String kind, long version, String variant) {
+        return "\"" + kind + "-" + Long.toString(epoch, 36) + "-" + version
+                + (variant != null ? "-" + variant : "") + "\"";
+    }
+}
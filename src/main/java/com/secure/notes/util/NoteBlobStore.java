@@ -0,0 +1,317 @@
+package com.secure.notes.util;
+
+import com.secure.notes.exceptions.InvalidNoteContentException;
+import com.secure.notes.exceptions.NoteTooLargeException;
+import com.secure.notes.models.Note;
+import com.secure.notes.repositories.AuditLogRepository;
+import com.secure.notes.repositories.NoteRepository;
+import com.secure.notes.repositories.NoteRevisionRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// 큰 노트 내용을 DB 대신 파일로 저장한다. (내용 SHA-256 이 파일 이름, 같은 내용은 파일 하나)
+// 요청 본문을 고정 크기 버퍼로 흘려 쓰므로 노트 크기와 상관없이 요청당 힙 사용량이 일정하다.
+// 노트/감사로그/노트 이력 어디에서도 참조하지 않는 파일은 주기적으로 지운다. (방금 올라온 파일은 유예시간 동안 남김)
+// 같은 내용이 다시 올라오면 기존 파일의 수정시각을 갱신해서 유예시간을 새로 준다.
+// 정리는 지우기 직전에 참조를 다시 읽고, 정리 시작 후에 갱신된 파일은 건너뛴다. (갱신과 삭제는 fileLock 으로 겹치지 않게)
+@Component
+public class NoteBlobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteBlobStore.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${spring.app.notes.blob.dir:./data/note-blobs}")
+    private String directory;
+
+    // 이 크기(바이트) 이상인 본문은 파일로 저장
+    @Value("${spring.app.notes.blob.thresholdBytes:1048576}")
+    private long thresholdBytes;
+
+    // 받을 수 있는 최대 본문 크기 (넘으면 413)
+    @Value("${spring.app.notes.blob.maxBytes:104857600}")
+    private long maxBytes;
+
+    // 참조 안되는 파일 정리 주기 / 올라온 뒤 정리 대상이 되기까지의 유예시간
+    @Value("${spring.app.notes.blob.sweepIntervalMinutes:60}")
+    private long sweepIntervalMinutes;
+
+    @Value("${spring.app.notes.blob.sweepGraceMinutes:60}")
+    private long sweepGraceMinutes;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private NoteRevisionRepository revisionRepository;
+
+    private Path root;
+    private ScheduledExecutorService sweeper;
+    private final Object fileLock = new Object();
+
+    // 저장된 파일 (ref = SHA-256 hex, 크기, UTF-16 글자수, 미리보기)
+    public record StoredBlob(String ref, long size, int contentLength, String preview) {
+    }
+
+    // 받은 본문: 작으면 text, 크면 blob
+    public record Upload(String text, StoredBlob blob) {
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(directory).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "note-blob-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMinutes, sweepIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    // 요청 본문 받기 (Content-Length 가 기준보다 작으면 문자열, 모르거나 크면 파일로 흘려 쓴다)
+    // Content-Length 가 최대 크기를 넘으면 읽지 않고 거절, 모르면 쓰는 중에 넘는 순간 멈춘다. (NoteTooLargeException)
+    // 문자열은 Content-Type 의 charset 으로 읽고 (없으면 UTF-8) 잘못된 바이트는 대체문자로 바꾼다.
+    // 파일은 받은 바이트 그대로 UTF-8 로 내려주므로 UTF-8 (또는 ASCII) 본문만 받는다.
+    public Upload receive(InputStream body, long declaredLength, String contentType) throws IOException {
+        Charset charset = charsetOf(contentType);
+        if (declaredLength > maxBytes) {
+            throw new NoteTooLargeException(maxBytes);
+        }
+        if (declaredLength >= 0 && declaredLength < thresholdBytes) {
+            return new Upload(new String(body.readNBytes((int) declaredLength), charset), null);
+        }
+        StoredBlob blob = store(body);
+        if (blob.size() < thresholdBytes) {
+            // 길이를 몰랐던 작은 본문은 일반 노트로 (파일은 참조가 없으니 정리때 지워짐)
+            return new Upload(new String(Files.readAllBytes(path(blob.ref())), charset), null);
+        }
+        if (!charset.equals(StandardCharsets.UTF_8) && !charset.equals(StandardCharsets.US_ASCII)) {
+            throw new InvalidNoteContentException("Note bodies of " + thresholdBytes + " bytes or more must be UTF-8");
+        }
+        return new Upload(null, blob);
+    }
+
+    // 입력을 끝까지 파일로 쓰면서 해시/글자수/미리보기를 계산한다.
+    public StoredBlob store(InputStream body) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        long size = 0;
+        long chars = 0;
+        int previewBytes = Note.PREVIEW_MAX_LENGTH * 4;
+        ByteBuffer head = ByteBuffer.allocate(previewBytes);
+        try (ReadableByteChannel in = Channels.newChannel(body);
+             FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (in.read(buffer) >= 0) {
+                buffer.flip();
+                for (int i = buffer.position(); i < buffer.limit(); i++) {
+                    byte b = buffer.get(i);
+                    // UTF-8 첫 바이트만 센다 (4바이트 문자는 UTF-16 으로 2글자)
+                    if ((b & 0xC0) != 0x80) {
+                        chars += (b & 0xF8) == 0xF0 ? 2 : 1;
+                    }
+                    if (head.hasRemaining()) {
+                        head.put(b);
+                    }
+                }
+                size += buffer.remaining();
+                if (size > maxBytes) {
+                    throw new NoteTooLargeException(maxBytes);
+                }
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+            out.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        String ref = HexFormat.of().formatHex(digest.digest());
+        Path target = path(ref);
+        Files.createDirectories(target.getParent());
+        synchronized (fileLock) {
+            if (touch(target)) {
+                Files.delete(temp);     // 같은 내용이 이미 있음
+            } else {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        head.flip();
+        return new StoredBlob(ref, size, (int) Math.min(chars, Integer.MAX_VALUE), preview(head));
+    }
+
+    // 저장된 파일 경로 (ref 는 64자리 hex 만 허용)
+    public Path path(String ref) {
+        if (ref == null || ref.length() != 64 || !ref.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            throw new IllegalArgumentException("Invalid blob reference");
+        }
+        return root.resolve(ref.substring(0, 2)).resolve(ref);
+    }
+
+    // 파일을 응답으로 보낸다. (메모리에 올리지 않고 sendfile/transferTo 로 전송, Content-Type 은 호출하는 쪽에서)
+    public void send(String ref, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = path(ref);
+        long size = Files.size(file);
+        response.setContentLengthLong(size);
+        if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            // 컨테이너가 요청 처리 후 커널 sendfile 로 파일을 직접 보냄
+            request.setAttribute("org.apache.tomcat.sendfile.filename", file.toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+            request.setAttribute("org.apache.tomcat.sendfile.end", size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+            out.flush();
+        }
+    }
+
+    // 참조되지 않는 파일 삭제
+    public int sweep() {
+        try {
+            Instant started = Instant.now();
+            Instant cutoff = started.minus(Duration.ofMinutes(sweepGraceMinutes));
+            Set<String> referenced = referencedRefs();
+            List<Path> candidates = new ArrayList<>();
+            try (Stream<Path> files = Files.walk(root, 2)) {
+                for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                    String name = file.getFileName().toString();
+                    if (!referenced.contains(name) && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                        candidates.add(file);
+                    }
+                }
+            }
+            if (candidates.isEmpty()) {
+                return 0;
+            }
+            // 목록을 만드는 동안 커밋된 참조
+            referenced = referencedRefs();
+            int deleted = 0;
+            for (Path file : candidates) {
+                if (referenced.contains(file.getFileName().toString())) {
+                    continue;
+                }
+                synchronized (fileLock) {
+                    if (Files.exists(file) && Files.getLastModifiedTime(file).toInstant().isBefore(started)) {
+                        Files.deleteIfExists(file);
+                        deleted++;
+                    }
+                }
+            }
+            if (deleted > 0) {
+                logger.info("Swept {} unreferenced note blobs", deleted);
+            }
+            return deleted;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Note blob sweep failed", e);
+            return 0;
+        }
+    }
+
+    private static Charset charsetOf(String contentType) {
+        if (contentType == null) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            Charset charset = MediaType.parseMediaType(contentType).getCharset();
+            return charset != null ? charset : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidNoteContentException("Unsupported content type: " + contentType);
+        }
+    }
+
+    private Set<String> referencedRefs() {
+        Set<String> referenced = new HashSet<>(noteRepository.findAllBlobRefs());
+        referenced.addAll(auditLogRepository.findAllBlobRefs());
+        referenced.addAll(revisionRepository.findAllBlobRefs());
+        return referenced;
+    }
+
+    // 파일이 있으면 수정시각을 지금으로 (없으면 false)
+    private static boolean touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static String preview(ByteBuffer head) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(head.remaining());
+        decoder.decode(head, chars, false);  // 마지막에 잘린 문자는 버려짐
+        chars.flip();
+        String text = chars.toString();
+        return text.length() > Note.PREVIEW_MAX_LENGTH ? text.substring(0, Note.PREVIEW_MAX_LENGTH) : text;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.secure.notes.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.secure.notes.models.Note;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// 유저별 노트 목록 캐시 (owner username -> 노트 목록)
+// 크기는 개수가 아니라 노트 내용의 바이트 합으로 제한한다. (W-TinyLFU 로 자주 쓰는 유저를 남김)
+// 노트 생성/수정/삭제는 캐시된 목록을 새 목록으로 바꿔 끼운다. (읽는 쪽은 항상 바뀌지 않는 목록을 받음)
+// 트랜잭션 안에서 바꾸면 커밋 후에 반영한다. 커밋 전에 바꾸면 그 사이 캐시를 새로 읽은 요청이 예전 행을 넣거나,
+// 롤백된 내용이 캐시에 남는다. (캐시를 읽어오는 중이면 반영은 읽기가 끝날때까지 기다렸다가 그 위에 적용됨)
+@Component
+public class NoteCache {
+
+    // 노트 한개당 내용 외의 대략적인 크기 (객체 헤더, 필드, 문자열 헤더)
+    private static final int NOTE_OVERHEAD_BYTES = 128;
+
+    // 캐시가 쓸 수 있는 최대 메모리 (0 이면 캐시 사용 안함)
+    @Value("${spring.app.notes.cache.maxBytes:67108864}")
+    private long maxBytes;
+
+    private Cache<String, List<Note>> cache;
+
+    @PostConstruct
+    public void init() {
+        if (maxBytes <= 0) {
+            return;
+        }
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String username, List<Note> notes) -> weigh(notes))
+                .recordStats()
+                .build();
+    }
+
+    // 캐시된 목록 (없으면 loader 로 읽어서 저장, 같은 유저를 동시에 읽어도 DB 조회는 한번)
+    public List<Note> get(String username, Function<String, List<Note>> loader) {
+        if (cache == null) {
+            return loader.apply(username);
+        }
+        return cache.get(username, key -> copyAll(loader.apply(key)));
+    }
+
+    // 저장된 노트를 캐시된 목록에 반영 (같은 id 는 교체, 없으면 추가)
+    public void put(Note note) {
+        if (cache == null || note.getOwnerUsername() == null) {
+            return;
+        }
+        Note copy = copy(note);
+        afterCommit(() -> cache.asMap().computeIfPresent(copy.getOwnerUsername(), (username, notes) -> {
+            List<Note> next = new ArrayList<>(notes.size() + 1);
+            boolean replaced = false;
+            for (Note cached : notes) {
+                if (cached.getId().equals(copy.getId())) {
+                    // 수정 쿼리는 생성시각을 돌려주지 않으므로 캐시된 값을 유지
+                    if (copy.getCreatedDate() == null) {
+                        copy.setCreatedDate(cached.getCreatedDate());
+                    }
+                    next.add(copy);
+                    replaced = true;
+                } else {
+                    next.add(cached);
+                }
+            }
+            if (!replaced) {
+                next.add(copy);
+            }
+            return Collections.unmodifiableList(next);
+        }));
+    }
+
+    // 삭제된 노트를 캐시된 목록에서 뺀다.
+    public void remove(String username, Long noteId) {
+        if (cache == null || username == null) {
+            return;
+        }
+        afterCommit(() -> cache.asMap().computeIfPresent(username, (key, notes) -> Collections.unmodifiableList(
+                notes.stream().filter(cached -> !cached.getId().equals(noteId)).toList())));
+    }
+
+    // 유저의 목록을 통째로 버린다. (다음 조회때 다시 읽음)
+    public void invalidate(String username) {
+        if (cache != null && username != null) {
+            afterCommit(() -> cache.invalidate(username));
+        }
+    }
+
+    // 적중/실패/제거 통계 (관리자 화면용)
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", cache != null);
+        stats.put("maxBytes", maxBytes);
+        if (cache == null) {
+            return stats;
+        }
+        CacheStats cacheStats = cache.stats();
+        stats.put("users", cache.estimatedSize());
+        stats.put("weightedBytes", cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L));
+        stats.put("hits", cacheStats.hitCount());
+        stats.put("misses", cacheStats.missCount());
+        stats.put("hitRate", cacheStats.hitRate());
+        stats.put("evictions", cacheStats.evictionCount());
+        stats.put("evictedBytes", cacheStats.evictionWeight());
+        stats.put("averageLoadMillis", cacheStats.averageLoadPenalty() / 1_000_000.0);
+        return stats;
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private static int weigh(List<Note> notes) {
+        long bytes = 0;
+        for (Note note : notes) {
+            bytes += NOTE_OVERHEAD_BYTES + (note.getContent() != null ? 2L * note.getContent().length() : 0);
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static List<Note> copyAll(List<Note> notes) {
+        List<Note> copies = new ArrayList<>(notes.size());
+        for (Note note : notes) {
+            copies.add(copy(note));
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    // 영속성 컨텍스트와 분리된 복사본 (캐시 안의 노트가 다른 곳에서 바뀌지 않도록)
+    private static Note copy(Note note) {
+        Note copy = new Note();
+        copy.setId(note.getId());
+        copy.setContent(note.getContent());
+        copy.setOwnerUsername(note.getOwnerUsername());
+        copy.setContentLength(note.getContentLength());
+        copy.setCreatedDate(note.getCreatedDate());
+        copy.setUpdatedDate(note.getUpdatedDate());
+        copy.setVersion(note.getVersion());
+        copy.setChangeSeq(note.getChangeSeq());
+        copy.setBlobRef(note.getBlobRef());
+        copy.setContentPreview(note.getContentPreview());
+        return copy;
+    }
+}
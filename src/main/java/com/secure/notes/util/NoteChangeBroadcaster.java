@@ -0,0 +1,200 @@
+package com.secure.notes.util;
+
+import com.secure.notes.dtos.NoteChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 노트 변경 이벤트를 SSE 구독자에게 보낸다. (GET /api/notes/stream)
+// 연결은 서블릿 비동기라 연결마다 스레드를 쓰지 않고, 보내기는 공유 스레드 몇개가 구독자별 큐를 비우면서 한다.
+// 쓰는 쪽은 큐에 넣기만 하고 기다리지 않는다. 큐가 가득 찬 (느린) 구독자는 연결을 끊는다. (다시 연결해서 목록을 새로 받음)
+// send 는 블로킹 소켓 쓰기라서 TCP 창이 꽉 찬 클라이언트에게 보내는 동안 공유 스레드가 멈춘다. (인터럽트로는 풀리지 않음)
+// 멈추는 시간의 상한은 커넥터 쓰기 시간초과 server.tomcat.connection-timeout 이고, 넘으면 IOException 으로 구독자를 끊는다.
+@Component
+public class NoteChangeBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteChangeBroadcaster.class);
+
+    // 구독자별 보내기 대기 이벤트 수
+    @Value("${spring.app.notes.stream.bufferSize:256}")
+    private int bufferSize;
+
+    // 유저 한명당 최대 연결 수
+    @Value("${spring.app.notes.stream.maxConnectionsPerUser:10}")
+    private int maxConnectionsPerUser;
+
+    // 연결 유지 시간 (지나면 클라이언트가 다시 연결)
+    @Value("${spring.app.notes.stream.timeoutMs:1800000}")
+    private long timeoutMs;
+
+    // 프록시가 유휴 연결을 끊지 않도록 보내는 주석 간격
+    @Value("${spring.app.notes.stream.heartbeatSeconds:25}")
+    private long heartbeatSeconds;
+
+    @Value("${spring.app.notes.stream.senderThreads:4}")
+    private int senderThreads;
+
+    private final ConcurrentHashMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private ExecutorService sender;
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadId = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "note-stream-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "note-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    // 새 구독 (유저당 연결 수를 넘으면 null)
+    public SseEmitter subscribe(String username) {
+        Subscriber subscriber = new Subscriber(username, new SseEmitter(timeoutMs), bufferSize);
+        AtomicBoolean added = new AtomicBoolean();
+        // 빈 집합을 지우는 remove 와 겹치지 않도록 compute 안에서 추가
+        subscribers.compute(username, (key, userSubscribers) -> {
+            Set<Subscriber> next = userSubscribers != null ? userSubscribers : ConcurrentHashMap.newKeySet();
+            if (next.size() < maxConnectionsPerUser) {
+                added.set(next.add(subscriber));
+            }
+            return next.isEmpty() ? null : next;
+        });
+        if (!added.get()) {
+            return null;
+        }
+        connections.incrementAndGet();
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+        subscriber.heartbeatDue.set(true);  // 연결 직후 한번 보내서 헤더를 바로 내려보냄
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    // NoteServiceImpl 이 발행한 이벤트 (트랜잭션이면 커밋 후, 아니면 바로)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNoteChanged(NoteChangedEvent event) {
+        Set<Subscriber> userSubscribers = subscribers.get(event.username());
+        if (userSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : userSubscribers) {
+            if (subscriber.queue.offer(event)) {
+                schedule(subscriber);
+            } else {
+                dropped.incrementAndGet();
+                logger.info("Dropping slow note stream subscriber of {}", subscriber.username);
+                remove(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private void sendHeartbeats() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> {
+            subscriber.heartbeatDue.set(true);
+            schedule(subscriber);
+        }));
+    }
+
+    // 구독자 하나는 한번에 한 스레드만 보낸다.
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.heartbeatDue.getAndSet(false)) {
+                subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+            }
+            NoteChangedEvent event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .name(event.type().name().toLowerCase())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // 보내는 중에 들어온 이벤트가 있으면 다시 예약
+        if (!subscriber.queue.isEmpty() || subscriber.heartbeatDue.get()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        Set<Subscriber> userSubscribers = subscribers.get(subscriber.username);
+        if (userSubscribers != null && userSubscribers.remove(subscriber)) {
+            connections.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.username, (key, set) -> set.isEmpty() ? null : set);
+        }
+    }
+
+    private static final class Subscriber {
+        private final String username;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<NoteChangedEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+
+        private Subscriber(String username, SseEmitter emitter, int bufferSize) {
+            this.username = username;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.secure.notes.util;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.TreeSet;
+
+// 노트 변경 순번 (생성/수정/삭제마다 증가, GET /api/notes/changes 의 cursor)
+// 순번은 받은 순서대로 커밋되지 않으므로 아직 커밋 안된 순번 중 가장 작은 값 앞까지만 (safeHighWater) 조회에 쓴다.
+// 그래야 늦게 커밋된 변경을 건너뛰지 않는다.
+// 순번은 note_change_seq 테이블에서 블록 단위로 미리 받아둔다. (별도 트랜잭션으로 커밋, note_seq 와 같은 방식)
+// 롤백된 순번까지 포함한 cursor 를 내줬어도 재시작 후 그 이하 순번을 다시 쓰지 않는다. (단일 노드 기준)
+@Component
+@DependsOn("noteSchemaMigration")
+public class NoteChangeSequence {
+
+    // 한번에 받아두는 순번 개수
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate allocationTemplate;
+    private long last;
+    private long reserved;  // 받아둔 블록의 마지막 순번
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    @PostConstruct
+    public synchronized void init() {
+        allocationTemplate = new TransactionTemplate(transactionManager);
+        allocationTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Long nextVal = jdbcTemplate.queryForObject("select next_val from note_change_seq", Long.class);
+        last = nextVal - 1;
+        reserved = last;
+    }
+
+    // 순번 한개 (트랜잭션 안에서만, 커밋/롤백되면 대기목록에서 빠짐)
+    public long next() {
+        return nextBlock(1);
+    }
+
+    // 연속된 순번 count 개 중 첫번째
+    public synchronized long nextBlock(int count) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Note change sequence must be taken inside a transaction");
+        }
+        if (last + count > reserved) {
+            reserve(Math.max(ALLOCATION_SIZE, count));
+        }
+        long first = last + 1;
+        last += count;
+        inFlight.add(first);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(first);
+            }
+        });
+        return first;
+    }
+
+    // 이 값 이하의 변경은 모두 커밋되었거나 롤백되었다.
+    public synchronized long safeHighWater() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    // 다음 size 개 순번을 DB 에 먼저 기록한다. (남은 블록은 버리고 새 블록부터 이어서 씀)
+    private void reserve(int size) {
+        Long nextVal = allocationTemplate.execute(status -> {
+            jdbcTemplate.update("update note_change_seq set next_val = next_val + ?", size);
+            return jdbcTemplate.queryForObject("select next_val from note_change_seq", Long.class);
+        });
+        last = Math.max(last, nextVal - size - 1);
+        reserved = nextVal - 1;
+    }
+
+    private synchronized void release(long first) {
+        inFlight.remove(first);
+    }
+}
@@ -0,0 +1,53 @@
+package com.secure.notes.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// 노트 목록 페이지 이어받기 토큰 (클라이언트에는 알 수 없는 문자열로 보임)
+// 정렬방식과 마지막으로 받은 노트의 id (최근 수정순이면 수정시각도) 를 담는다.
+public record NoteCursor(Order order, long lastId, LocalDateTime lastUpdated) {
+
+    private static final String VERSION = "v1";
+
+    // ASC, DESC: id 순서 / UPDATED: 최근 수정순
+    public enum Order {
+        ASC, DESC, UPDATED;
+
+        public static Order parse(String value) {
+            for (Order order : values()) {
+                if (order.name().equalsIgnoreCase(value)) {
+                    return order;
+                }
+            }
+            throw new IllegalArgumentException("Invalid sort: " + value);
+        }
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + order.name().toLowerCase() + ":" + lastId
+                + (order == Order.UPDATED ? ":" + lastUpdated : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NoteCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 4);
+            if (parts.length < 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Order order = Order.parse(parts[1]);
+            long lastId = Long.parseLong(parts[2]);
+            if (order == Order.UPDATED) {
+                if (parts.length != 4) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                return new NoteCursor(order, lastId, LocalDateTime.parse(parts[3]));
+            }
+            return new NoteCursor(order, lastId, null);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
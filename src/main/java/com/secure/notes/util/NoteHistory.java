@@ -0,0 +1,195 @@
+package com.secure.notes.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.secure.notes.models.Note;
+import com.secure.notes.models.NoteRevision;
+import com.secure.notes.repositories.NoteRevisionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 노트 내용 이력 (감사로그마다 전체 내용을 복사하지 않고 스냅샷 + 델타로 저장)
+// 델타의 기준은 노트별 최신 리비전 캐시에서 가져온다. 캐시에 없으면(재시작, 밀려남) 스냅샷을 새로 쓴다.
+// 캐시는 커밋 후에만 바꾸므로 롤백된 리비전이 기준이 되는 일은 없다. 델타는 기준 id 를 직접 들고 있어서
+// 같은 노트를 동시에 수정해 예전 기준으로 델타를 만들어도 복원은 맞다.
+@Component
+public class NoteHistory {
+
+    // 리비전 한개당 내용 외의 대략적인 크기
+    private static final int HEAD_OVERHEAD_BYTES = 64;
+
+    // 델타가 이 단계만큼 쌓이면 스냅샷 (복원할때 읽는 행 수의 상한)
+    @Value("${spring.app.notes.history.snapshotInterval:32}")
+    private int snapshotInterval;
+
+    // 노트별 최신 내용 캐시 최대 메모리
+    @Value("${spring.app.notes.history.headCacheMaxBytes:16777216}")
+    private long headCacheMaxBytes;
+
+    @Autowired
+    private NoteRevisionRepository revisionRepository;
+
+    private Cache<Long, Head> heads;
+
+    // 델타를 만들 기준 (최신 리비전 id, 체인 시작 스냅샷, 단계, 내용)
+    public record Head(long noteId, long revisionId, long snapshotId, int depth, String content) {
+    }
+
+    // 복원한 내용 (파일로 저장된 큰 노트면 blobRef 만)
+    public record Content(String text, String blobRef) {
+    }
+
+    @PostConstruct
+    public void init() {
+        heads = Caffeine.newBuilder()
+                .maximumWeight(Math.max(headCacheMaxBytes, 0))
+                .weigher((Long noteId, Head head) -> HEAD_OVERHEAD_BYTES + head.content().length() * 2)
+                .build();
+    }
+
+    // 노트들의 현재 내용을 리비전으로 저장하고 리비전 id 를 같은 순서로 돌려준다. (트랜잭션 안에서 호출)
+    public List<Long> record(List<Note> notes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<NoteRevision> revisions = new ArrayList<>(notes.size());
+        for (Note note : notes) {
+            revisions.add(build(note.getId(), note.getContent(), note.getBlobRef(), now,
+                    heads.getIfPresent(note.getId())));
+        }
+        revisionRepository.saveAll(revisions);
+        List<Head> next = new ArrayList<>(revisions.size());
+        List<Long> ids = new ArrayList<>(revisions.size());
+        for (int i = 0; i < revisions.size(); i++) {
+            next.add(headOf(revisions.get(i), notes.get(i).getContent()));
+            ids.add(revisions.get(i).getId());
+        }
+        afterCommit(() -> next.forEach(this::cache));
+        return ids;
+    }
+
+    // 캐시를 거치지 않고 주어진 기준 다음 리비전을 저장 (예전 감사로그 이전용)
+    public Head append(Long noteId, String content, String blobRef, LocalDateTime createdDate, Head base) {
+        NoteRevision revision = revisionRepository.save(build(noteId, content, blobRef, createdDate, base));
+        return headOf(revision, content);
+    }
+
+    // 노트가 삭제되면 캐시에서 뺀다. (이력 행은 감사로그가 참조하므로 남김)
+    public void forget(Long noteId) {
+        heads.invalidate(noteId);
+    }
+
+    // 리비전의 전체 내용 복원 (스냅샷 + 체인의 델타를 차례로 적용)
+    public Optional<Content> reconstruct(Long revisionId) {
+        NoteRevision target = revisionRepository.findById(revisionId).orElse(null);
+        if (target == null) {
+            return Optional.empty();
+        }
+        if (target.getBaseId() == null) {
+            return Optional.of(new Content(target.getText(), target.getBlobRef()));
+        }
+        Map<Long, NoteRevision> chain = revisionRepository.findChain(target.getSnapshotId(), target.getDepth())
+                .stream()
+                .collect(Collectors.toMap(NoteRevision::getId, Function.identity()));
+        Deque<NoteRevision> deltas = new ArrayDeque<>();
+        NoteRevision current = target;
+        while (current.getBaseId() != null) {
+            deltas.push(current);
+            current = chain.get(current.getBaseId());
+            if (current == null) {
+                throw new IllegalStateException("Broken revision chain for revision " + revisionId);
+            }
+        }
+        String text = current.getText();
+        for (NoteRevision delta : deltas) {
+            text = apply(text, delta);
+        }
+        return Optional.of(new Content(text, null));
+    }
+
+    private NoteRevision build(Long noteId, String content, String blobRef, LocalDateTime createdDate, Head base) {
+        NoteRevision revision = new NoteRevision();
+        revision.setNoteId(noteId);
+        revision.setBlobRef(blobRef);
+        revision.setCreatedDate(createdDate);
+        revision.setContentLength(content != null ? content.length() : 0);
+        revision.setText(content);
+        if (content == null || base == null || base.content() == null || base.depth() + 1 >= snapshotInterval) {
+            return revision;
+        }
+        String previous = base.content();
+        int max = Math.min(previous.length(), content.length());
+        int prefix = 0;
+        while (prefix < max && previous.charAt(prefix) == content.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && previous.charAt(previous.length() - 1 - suffix) == content.charAt(content.length() - 1 - suffix)) {
+            suffix++;
+        }
+        // 저장되는 가운데 부분이 서로게이트 쌍을 가르지 않게 (반쪽 문자는 DB 에 저장되지 않음)
+        if (prefix > 0 && Character.isHighSurrogate(content.charAt(prefix - 1))) {
+            prefix--;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(content.charAt(content.length() - suffix))) {
+            suffix--;
+        }
+        String middle = content.substring(prefix, content.length() - suffix);
+        if (middle.length() > content.length() / 2) {
+            return revision;    // 대부분 바뀌었으면 스냅샷이 더 작거나 비슷함
+        }
+        revision.setBaseId(base.revisionId());
+        revision.setSnapshotId(base.snapshotId());
+        revision.setDepth(base.depth() + 1);
+        revision.setPrefixLength(prefix);
+        revision.setSuffixLength(suffix);
+        revision.setText(middle);
+        return revision;
+    }
+
+    private static Head headOf(NoteRevision revision, String content) {
+        long snapshotId = revision.getSnapshotId() != null ? revision.getSnapshotId() : revision.getId();
+        return new Head(revision.getNoteId(), revision.getId(), snapshotId, revision.getDepth(), content);
+    }
+
+    private static String apply(String base, NoteRevision delta) {
+        return base.substring(0, delta.getPrefixLength()) + delta.getText()
+                + base.substring(base.length() - delta.getSuffixLength());
+    }
+
+    // 같은 노트의 더 새 리비전이 이미 들어있으면 바꾸지 않음, 파일 노트는 기준이 될 수 없으니 뺀다
+    private void cache(Head head) {
+        if (head.content() == null) {
+            heads.invalidate(head.noteId());
+            return;
+        }
+        heads.asMap().merge(head.noteId(), head,
+                (current, next) -> next.revisionId() > current.revisionId() ? next : current);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
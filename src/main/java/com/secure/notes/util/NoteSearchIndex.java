@@ -0,0 +1,303 @@
+package com.secure.notes.util;
+
+import com.secure.notes.dtos.NoteChangedEvent;
+import com.secure.notes.models.Note;
+import com.secure.notes.repositories.NoteRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 유저별 노트 전문검색 색인 (메모리, GET /api/notes/search)
+// 단어 -> 노트 id 목록(posting) 을 long[]/int[] 배열로 저장하고, 검색어 단어가 모두 들어간 노트를 TF-IDF 점수로 정렬한다.
+// 구동시 노트 테이블을 id 순으로 나눠 읽어 만들고, 이후에는 노트 변경 이벤트(커밋 후)로 갱신한다.
+// 커밋 후 이벤트는 순서가 바뀌어 올 수 있으므로 노트마다 반영한 변경 순번(changeSeq)을 두고 그보다 예전 이벤트는 버린다.
+// 순번이 없는 이벤트(모아쓰기로 아직 저장되지 않은 수정)는 색인하지 않는다. 실제로 저장될때 순번과 함께 다시 온다.
+@Component
+public class NoteSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteSearchIndex.class);
+
+    // 구동시 한번에 읽는 노트 수
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    @Value("${spring.app.notes.search.enabled:true}")
+    private boolean enabled;
+
+    // 이보다 긴 단어는 잘라서 색인 (긴 base64 등으로 메모리가 커지지 않도록)
+    @Value("${spring.app.notes.search.maxTermLength:64}")
+    private int maxTermLength;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    private final ConcurrentHashMap<String, OwnerIndex> owners = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        owners.clear();
+        long lastId = 0L;
+        int indexed = 0;
+        List<Note> page;
+        do {
+            page = noteRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_PAGE_SIZE));
+            for (Note note : page) {
+                index(note.getOwnerUsername(), note.getId(), note.getChangeSeq(), note.getContent());
+                lastId = note.getId();
+            }
+            indexed += page.size();
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        logger.info("Indexed {} notes for search in {} ms", indexed, System.currentTimeMillis() - started);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNoteChanged(NoteChangedEvent event) {
+        if (!enabled || event.username() == null || event.noteId() == null || event.changeSeq() == null) {
+            return;
+        }
+        // 내용이 없는 이벤트 = 파일로 저장된 큰 노트, 검색 대상에서 뺀다
+        if (event.type() == NoteChangedEvent.Type.DELETED || event.content() == null) {
+            owners.computeIfAbsent(event.username(), key -> new OwnerIndex())
+                    .remove(event.noteId(), event.changeSeq());
+        } else {
+            index(event.username(), event.noteId(), event.changeSeq(), event.content());
+        }
+    }
+
+    // 검색어 단어가 모두 들어간 노트 id (점수 높은 순, 최대 limit 개)
+    public long[] search(String username, String query, int limit) {
+        OwnerIndex owner = owners.get(username);
+        if (owner == null || query == null) {
+            return new long[0];
+        }
+        Set<String> terms = new LinkedHashSet<>(tokenize(query, maxTermLength));
+        if (terms.isEmpty()) {
+            return new long[0];
+        }
+        return owner.search(terms, limit);
+    }
+
+    // 전체 단어 수 / 노트 수 (관리자 통계)
+    public Map<String, Object> getStats() {
+        long terms = 0;
+        long notes = 0;
+        for (OwnerIndex owner : owners.values()) {
+            synchronized (owner) {
+                terms += owner.postings.size();
+                notes += owner.documents.size();
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("owners", owners.size());
+        stats.put("notes", notes);
+        stats.put("terms", terms);
+        return stats;
+    }
+
+    private void index(String username, Long noteId, Long changeSeq, String content) {
+        if (username == null || noteId == null) {
+            return;
+        }
+        List<String> tokens = tokenize(content, maxTermLength);
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        owners.computeIfAbsent(username, key -> new OwnerIndex())
+                .put(noteId, changeSeq != null ? changeSeq : 0L, frequencies, tokens.size());
+    }
+
+    // 글자/숫자가 아닌 문자로 나누고 소문자로 (한글도 글자로 처리)
+    static List<String> tokenize(String text, int maxTermLength) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean letter = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(text.substring(start, Math.min(i, start + maxTermLength)).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // 한 유저의 색인 (유저 단위로 잠금)
+    private static final class OwnerIndex {
+        // 색인에서 뺀 노트의 순번을 기억하는 개수 (늦게 온 예전 수정 이벤트가 지운 노트를 되살리지 않도록)
+        private static final int MAX_REMOVED = 1024;
+
+        private final HashMap<String, Postings> postings = new HashMap<>();
+        private final HashMap<Long, Document> documents = new HashMap<>();
+        private final LinkedHashMap<Long, Long> removed = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > MAX_REMOVED;
+            }
+        };
+
+        synchronized void put(long noteId, long changeSeq, Map<String, Integer> frequencies, int length) {
+            if (isStale(noteId, changeSeq)) {
+                return;
+            }
+            removed.remove(noteId);
+            removeTerms(noteId);
+            String[] terms = frequencies.keySet().toArray(new String[0]);
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new Postings()).put(noteId, frequencies.get(term));
+            }
+            documents.put(noteId, new Document(terms, Math.max(1, length), changeSeq));
+        }
+
+        synchronized void remove(long noteId, long changeSeq) {
+            if (isStale(noteId, changeSeq)) {
+                return;
+            }
+            removeTerms(noteId);
+            removed.put(noteId, changeSeq);
+        }
+
+        // 이미 같거나 더 새 변경을 반영했으면 true
+        private boolean isStale(long noteId, long changeSeq) {
+            Document document = documents.get(noteId);
+            if (document != null && document.changeSeq >= changeSeq) {
+                return true;
+            }
+            Long removedSeq = removed.get(noteId);
+            return removedSeq != null && removedSeq >= changeSeq;
+        }
+
+        private void removeTerms(long noteId) {
+            Document document = documents.remove(noteId);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms) {
+                Postings list = postings.get(term);
+                if (list != null && list.remove(noteId) && list.size == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        synchronized long[] search(Set<String> terms, int limit) {
+            Postings[] lists = new Postings[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists[i++] = list;
+            }
+            // 가장 짧은 목록을 기준으로 나머지에서 이진탐색
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+            double totalDocs = documents.size();
+            double[] idf = new double[lists.length];
+            for (int t = 0; t < lists.length; t++) {
+                idf[t] = Math.log(1 + totalDocs / lists[t].size);
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(a.score, b.score));
+            Postings first = lists[0];
+            for (int p = 0; p < first.size; p++) {
+                long noteId = first.ids[p];
+                double score = first.frequencies[p] * idf[0];
+                boolean all = true;
+                for (int t = 1; t < lists.length && all; t++) {
+                    int position = Arrays.binarySearch(lists[t].ids, 0, lists[t].size, noteId);
+                    if (position < 0) {
+                        all = false;
+                    } else {
+                        score += lists[t].frequencies[position] * idf[t];
+                    }
+                }
+                if (!all) {
+                    continue;
+                }
+                score /= Math.sqrt(documents.get(noteId).length);
+                top.add(new Hit(noteId, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            long[] result = new long[top.size()];
+            for (int r = result.length - 1; r >= 0; r--) {
+                result[r] = top.poll().noteId;
+            }
+            return result;
+        }
+    }
+
+    // 단어 하나의 노트 id 목록 (id 오름차순, 같은 위치에 단어 빈도)
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void put(long noteId, int frequency) {
+            int position = Arrays.binarySearch(ids, 0, size, noteId);
+            if (position >= 0) {
+                frequencies[position] = frequency;
+                return;
+            }
+            int insert = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            System.arraycopy(ids, insert, ids, insert + 1, size - insert);
+            System.arraycopy(frequencies, insert, frequencies, insert + 1, size - insert);
+            ids[insert] = noteId;
+            frequencies[insert] = frequency;
+            size++;
+        }
+
+        boolean remove(long noteId) {
+            int position = Arrays.binarySearch(ids, 0, size, noteId);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            System.arraycopy(frequencies, position + 1, frequencies, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+
+    private record Document(String[] terms, int length, long changeSeq) {
+    }
+
+    private record Hit(long noteId, double score) {
+    }
+}
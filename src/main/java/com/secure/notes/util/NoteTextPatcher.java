@@ -0,0 +1,56 @@
+package com.secure.notes.util;
+
+import com.secure.notes.dtos.NoteTextEdit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// 구간 바꾸기(edit) 목록을 노트 내용에 적용한다.
+// 모든 위치는 원래 내용 기준이므로 겹치면 안되고, 원래 내용을 앞에서부터 한번만 복사하며 새 내용을 만든다.
+public final class NoteTextPatcher {
+
+    private NoteTextPatcher() {
+    }
+
+    public static String apply(String content, List<NoteTextEdit> edits) {
+        String base = content != null ? content : "";
+        if (edits == null || edits.isEmpty()) {
+            throw new IllegalArgumentException("No edits");
+        }
+        List<NoteTextEdit> sorted = new ArrayList<>(edits);
+        sorted.sort(Comparator.comparingInt(NoteTextEdit::getStart).thenComparingInt(NoteTextEdit::getEnd));
+
+        int previousEnd = 0;
+        long added = 0;
+        for (NoteTextEdit edit : sorted) {
+            if (edit.getStart() < previousEnd || edit.getStart() > edit.getEnd() || edit.getEnd() > base.length()) {
+                throw new IllegalArgumentException("Invalid edit range [" + edit.getStart() + ", " + edit.getEnd() + ")");
+            }
+            previousEnd = edit.getEnd();
+            added += (edit.getText() != null ? edit.getText().length() : 0) - (edit.getEnd() - edit.getStart());
+        }
+
+        StringBuilder result = new StringBuilder((int) Math.max(0, base.length() + added));
+        int position = 0;
+        for (NoteTextEdit edit : sorted) {
+            result.append(base, position, edit.getStart());
+            if (edit.getText() != null) {
+                result.append(edit.getText());
+            }
+            position = edit.getEnd();
+        }
+        result.append(base, position, base.length());
+        return result.toString();
+    }
+
+    // 감사로그용 요약 ("[start,end)=길이" 목록, maxLength 까지)
+    public static String describe(List<NoteTextEdit> edits, int maxLength) {
+        StringBuilder description = new StringBuilder("PATCH");
+        for (NoteTextEdit edit : edits) {
+            description.append(" [").append(edit.getStart()).append(',').append(edit.getEnd()).append(")=")
+                    .append(edit.getText() != null ? edit.getText().length() : 0);
+        }
+        return description.length() > maxLength ? description.substring(0, maxLength) : description.toString();
+    }
+}
@@ -0,0 +1,365 @@
+package com.secure.notes.util;
+
+import com.secure.notes.dtos.NoteChangedEvent;
+import com.secure.notes.dtos.NoteSummary;
+import com.secure.notes.models.Note;
+import com.secure.notes.repositories.NoteRepository;
+import com.secure.notes.services.AuditLogService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 자동저장 PUT 모으기: 같은 노트의 수정이 windowMs 안에 여러번 오면 마지막 내용만 한번 저장하고 감사로그도 한번만 남긴다.
+// windowMs 가 0 이면 사용 안함 (기본값), 대기중인 노트가 maxPending 개를 넘으면 바로 저장으로 돌아간다.
+// 저장할때는 대기값을 맵에서 꺼내 저장중 목록(flushing)으로 옮기고 맵 락 밖에서 DB 에 쓴다. 노트별로 한 스레드만 저장하고
+// 같은 노트를 저장하려는 다른 스레드는 끝날때까지 기다린다. 커밋이 끝날때까지 저장중 값이 남아 있어 읽기는 항상 마지막 내용을 본다.
+// 저장이 실패하면 대기열에 되돌리고(그 사이 들어온 더 새 내용이 있으면 그쪽이 이김) 점점 늘어나는 간격으로 다시 시도한다.
+@Component
+public class NoteWriteCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteWriteCoalescer.class);
+
+    @Value("${spring.app.notes.coalesce.windowMs:0}")
+    private long windowMs;
+
+    @Value("${spring.app.notes.coalesce.maxPending:10000}")
+    private int maxPending;
+
+    // 저장 실패시 다시 시도하는 최대 간격
+    private static final long MAX_RETRY_DELAY_MS = 60_000;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private NoteCache noteCache;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private NoteChangeSequence changeSequence;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ConcurrentHashMap<Long, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Flush> flushing = new ConcurrentHashMap<>();
+    private TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService scheduler;
+
+    // 저장 대기중인 마지막 내용 (firstAt 은 처음 들어온 시각, 계속 수정해도 window 마다 한번은 저장)
+    // failures 는 연속 저장 실패 횟수 (다시 시도 간격 계산용)
+    private record PendingWrite(String username, String content, long firstAt, LocalDateTime updatedAt,
+                                int failures) {
+    }
+
+    // 저장중인 내용과 끝나면 완료되는 future (같은 노트를 저장하려는 스레드가 기다림)
+    private static final class Flush {
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private volatile PendingWrite write;
+
+        private Flush(PendingWrite write) {
+            this.write = write;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        if (windowMs <= 0) {
+            return;
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "note-write-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = Math.max(50, windowMs / 4);
+        scheduler.scheduleWithFixedDelay(this::flushDue, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return scheduler != null;
+    }
+
+    // 수정을 모아두고 응답용 노트를 돌려준다. (꽉 찼으면 null -> 호출한 쪽에서 바로 저장)
+    public Note submit(Long noteId, String username, String content) {
+        if (!isEnabled()) {
+            return null;
+        }
+        PendingWrite existing = current(noteId);
+        if (existing == null || !existing.username().equals(username)) {
+            if (pending.size() >= maxPending) {
+                return null;
+            }
+            // 처음 모으는 노트만 소유자 확인 (내용은 읽지 않음)
+            if (!noteRepository.existsByIdAndOwnerUsername(noteId, username)) {
+                return null;
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        pending.merge(noteId, new PendingWrite(username, content, System.currentTimeMillis(), now, 0),
+                (old, next) -> new PendingWrite(username, content, old.firstAt(), now, old.failures()));
+        Note note = new Note();
+        note.setId(noteId);
+        note.setContent(content);
+        note.setOwnerUsername(username);
+        note.setContentLength(content.length());
+        note.setUpdatedDate(now);
+        return note;
+    }
+
+    // 해당 노트의 대기중인 수정을 지금 저장 (PATCH, 일괄 수정 전에 호출, 저장에 실패하면 예외)
+    public void flush(Long noteId) {
+        if (isEnabled() && !flushOnce(noteId)) {
+            throw new IllegalStateException("Failed to save pending changes for note " + noteId);
+        }
+    }
+
+    // 해당 유저의 대기중인 수정을 버린다. (삭제, 파일로 교체 전에 호출)
+    // 저장중이면 끝날때까지 기다린다. (늦게 커밋된 예전 내용이 뒤의 변경을 덮지 않도록, 실패해서 되돌아온 값도 버림)
+    public void discard(Long noteId, String username) {
+        pending.computeIfPresent(noteId, (id, write) -> write.username().equals(username) ? null : write);
+        Flush running = flushing.get(noteId);
+        if (running != null) {
+            running.done.join();
+            pending.computeIfPresent(noteId, (id, write) -> write.username().equals(username) ? null : write);
+        }
+    }
+
+    // 읽기 결과에 대기중인 내용을 덮어쓴다.
+    public Note overlay(Note note) {
+        PendingWrite write = note != null ? current(note.getId()) : null;
+        if (write == null) {
+            return note;
+        }
+        Note copy = new Note();
+        copy.setId(note.getId());
+        copy.setContent(write.content());
+        copy.setOwnerUsername(note.getOwnerUsername());
+        copy.setContentLength(write.content().length());
+        copy.setCreatedDate(note.getCreatedDate());
+        copy.setUpdatedDate(write.updatedAt());
+        copy.setVersion(note.getVersion());
+        copy.setChangeSeq(note.getChangeSeq());
+        return copy;
+    }
+
+    public List<Note> overlay(List<Note> notes) {
+        if (pending.isEmpty() && flushing.isEmpty()) {
+            return notes;
+        }
+        List<Note> result = new ArrayList<>(notes.size());
+        for (Note note : notes) {
+            result.add(overlay(note));
+        }
+        return result;
+    }
+
+    public List<NoteSummary> overlaySummaries(List<NoteSummary> summaries, int previewLength) {
+        if (pending.isEmpty() && flushing.isEmpty()) {
+            return summaries;
+        }
+        List<NoteSummary> result = new ArrayList<>(summaries.size());
+        for (NoteSummary summary : summaries) {
+            PendingWrite write = current(summary.getId());
+            result.add(write == null ? summary : new PendingSummary(summary, write, previewLength));
+        }
+        return result;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!isEnabled()) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Long noteId : new ArrayList<>(pending.keySet())) {
+            flushOnce(noteId);
+        }
+        if (pending.isEmpty()) {
+            logger.info("Flushed pending note writes on shutdown");
+        } else {
+            logger.error("Could not save {} pending note writes on shutdown", pending.size());
+        }
+    }
+
+    private void flushDue() {
+        long due = System.currentTimeMillis() - windowMs;
+        pending.forEach((noteId, write) -> {
+            if (write.firstAt() <= due) {
+                flushOnce(noteId);
+            }
+        });
+    }
+
+    // 대기중이거나 저장중인 마지막 내용
+    private PendingWrite current(Long noteId) {
+        PendingWrite write = pending.get(noteId);
+        if (write != null) {
+            return write;
+        }
+        Flush flush = flushing.get(noteId);
+        return flush != null ? flush.write : null;
+    }
+
+    // 대기값을 꺼내 맵 락 밖에서 저장한다. 다른 스레드가 같은 노트를 저장중이면 끝나길 기다렸다가 남은 값을 저장.
+    // 저장에 실패하면 false (값은 대기열로 되돌아가 나중에 다시 시도)
+    private boolean flushOnce(Long noteId) {
+        while (true) {
+            Flush running = flushing.get(noteId);
+            if (running != null) {
+                running.done.join();
+                continue;
+            }
+            PendingWrite write = pending.get(noteId);
+            if (write == null) {
+                return true;
+            }
+            Flush mine = new Flush(write);
+            if (flushing.putIfAbsent(noteId, mine) != null) {
+                continue;
+            }
+            try {
+                // 저장중 목록에 먼저 올리고 대기열에서 빼서, 읽기가 중간에 예전 내용을 보지 않게 한다
+                while (write != null && !pending.remove(noteId, write)) {
+                    write = pending.get(noteId);
+                    if (write != null) {
+                        mine.write = write;
+                    }
+                }
+                if (write == null) {
+                    return true;    // 그 사이 삭제로 버려짐
+                }
+                if (write(noteId, write)) {
+                    return true;
+                }
+                requeue(noteId, write);
+                return false;
+            } finally {
+                flushing.remove(noteId, mine);
+                mine.done.complete(null);
+            }
+        }
+    }
+
+    // 실패한 값을 되돌린다. 더 새 내용이 이미 들어와 있으면 그대로 두고, 다음 시도는 실패할수록 늦춘다.
+    private void requeue(Long noteId, PendingWrite failed) {
+        int failures = failed.failures() + 1;
+        long delay = Math.min(MAX_RETRY_DELAY_MS, windowMs << Math.min(failures, 16));
+        long firstAt = System.currentTimeMillis() - windowMs + delay;
+        PendingWrite retry = new PendingWrite(failed.username(), failed.content(), firstAt, failed.updatedAt(),
+                failures);
+        pending.merge(noteId, retry, (newer, old) -> newer);
+        logger.error("Pending write for note {} failed {} time(s), retrying in {} ms", noteId, failures, delay);
+    }
+
+    // 저장 (노트가 지워졌으면 건너뜀), 실패하면 false
+    private boolean write(Long noteId, PendingWrite write) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                long changeSeq = changeSequence.next();
+                int updated = noteRepository.updateContent(noteId, write.username(), write.content(),
+                        write.content().length(), Note.previewOf(write.content()), write.updatedAt(), changeSeq);
+                if (updated == 0) {
+                    return;
+                }
+                Note note = new Note();
+                note.setId(noteId);
+                note.setContent(write.content());
+                note.setOwnerUsername(write.username());
+                note.setContentLength(write.content().length());
+                note.setUpdatedDate(write.updatedAt());
+                note.setVersion(noteRepository.findVersionById(noteId));
+                note.setChangeSeq(changeSeq);
+                auditLogService.logNoteUpdate(write.username(), note);
+                noteCache.put(note);
+                contentVersions.bumpNotes(write.username());
+                eventPublisher.publishEvent(new NoteChangedEvent(NoteChangedEvent.Type.UPDATED, write.username(),
+                        noteId, note.getVersion(), changeSeq, note.getUpdatedDate(), note.getContent()));
+            });
+            return true;
+        } catch (RuntimeException e) {
+            logger.error("Failed to flush pending write for note {}", noteId, e);
+            return false;
+        }
+    }
+
+    // 대기중인 내용으로 만든 목록 요약
+    private static final class PendingSummary implements NoteSummary {
+        private final NoteSummary summary;
+        private final PendingWrite write;
+        private final int previewLength;
+
+        private PendingSummary(NoteSummary summary, PendingWrite write, int previewLength) {
+            this.summary = summary;
+            this.write = write;
+            this.previewLength = previewLength;
+        }
+
+        @Override
+        public Long getId() {
+            return summary.getId();
+        }
+
+        @Override
+        public String getPreview() {
+            String content = write.content();
+            return content.length() > previewLength ? content.substring(0, previewLength) : content;
+        }
+
+        @Override
+        public Integer getContentLength() {
+            return write.content().length();
+        }
+
+        @Override
+        public LocalDateTime getCreatedDate() {
+            return summary.getCreatedDate();
+        }
+
+        @Override
+        public LocalDateTime getUpdatedDate() {
+            return write.updatedAt();
+        }
+
+        @Override
+        public Long getVersion() {
+            return summary.getVersion();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.secure.notes.util;
+
+import com.secure.notes.models.AppRole;
+import com.secure.notes.models.Role;
+import com.secure.notes.repositories.RoleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// 권한 테이블(ROLE_USER, ROLE_ADMIN) 을 메모리에 올려두고 findByRoleName 조회 없이 Role 을 돌려준다.
+// 구동시 SecurityConfig.initData 에서 한번 읽고, 권한 테이블이 바뀌면 refresh() 를 다시 호출한다.
+@Component
+public class RoleRegistry {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private volatile Map<AppRole, Role> roles = Collections.emptyMap();
+
+    // 권한 테이블을 한번에 읽고 없는 권한은 만든다.
+    public synchronized void refresh() {
+        Map<AppRole, Role> loaded = new EnumMap<>(AppRole.class);
+        for (Role role : roleRepository.findAll()) {
+            if (role.getRoleName() != null) {
+                loaded.putIfAbsent(role.getRoleName(), role);
+            }
+        }
+        for (AppRole appRole : AppRole.values()) {
+            if (!loaded.containsKey(appRole)) {
+                loaded.put(appRole, roleRepository.save(new Role(appRole)));
+            }
+        }
+        roles = Collections.unmodifiableMap(loaded);
+    }
+
+    // 권한 엔티티 (DB 조회 없음, 아직 안 읽었으면 한번 읽음)
+    public Role get(AppRole appRole) {
+        Role role = roles.get(appRole);
+        if (role == null) {
+            refresh();
+            role = roles.get(appRole);
+        }
+        if (role == null) {
+            throw new RuntimeException("Error: Role is not found.");
+        }
+        return role;
+    }
+
+    public List<Role> getAll() {
+        if (roles.isEmpty()) {
+            refresh();
+        }
+        return List.copyOf(roles.values());
+    }
+}
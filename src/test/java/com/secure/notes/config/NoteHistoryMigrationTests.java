@@ -0,0 +1,133 @@
+package com.secure.notes.config;
+
+import com.secure.notes.models.AuditLog;
+import com.secure.notes.models.NoteRevision;
+import com.secure.notes.repositories.AuditLogRepository;
+import com.secure.notes.repositories.NoteRevisionRepository;
+import com.secure.notes.util.NoteHistory;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 예전 감사로그 -> 노트 이력 이전 테스트 (저장소는 메모리, DB 없이 실행)
+class NoteHistoryMigrationTests {
+
+    private static final long NOTE_ID = 7L;
+
+    @Test
+    void everyLegacyLogIsReconstructedFromHistory() {
+        // 한 페이지(200)를 넘고 스냅샷 간격(32)도 여러번 넘는 로그, 중간에 파일 노트 하나
+        List<AuditLog> logs = new ArrayList<>();
+        List<String> contents = new ArrayList<>();
+        List<String> blobRefs = new ArrayList<>();
+        StringBuilder text = new StringBuilder("legacy note\n");
+        for (int i = 1; i <= 250; i++) {
+            String blobRef = i == 120 ? "b".repeat(64) : null;
+            text.append("line ").append(i).append('\n');
+            AuditLog log = new AuditLog();
+            log.setId((long) i);
+            log.setNoteId(NOTE_ID);
+            log.setAction(i == 1 ? "CREATE" : "UPDATE");
+            log.setNoteContent(blobRef == null ? text.toString() : null);
+            log.setBlobRef(blobRef);
+            log.setTimestamp(LocalDateTime.now());
+            logs.add(log);
+            contents.add(log.getNoteContent());
+            blobRefs.add(blobRef);
+        }
+
+        Map<Long, NoteRevision> rows = new HashMap<>();
+        NoteHistory history = newHistory(revisionRepository(rows));
+        NoteHistoryMigration migration = new NoteHistoryMigration();
+        ReflectionTestUtils.setField(migration, "enabled", true);
+        ReflectionTestUtils.setField(migration, "auditLogRepository", auditLogRepository(logs));
+        ReflectionTestUtils.setField(migration, "noteHistory", history);
+        ReflectionTestUtils.setField(migration, "transactionManager", transactionManager());
+
+        migration.migrate();
+
+        for (int i = 0; i < logs.size(); i++) {
+            AuditLog log = logs.get(i);
+            assertThat(log.getRevisionId()).as("log %d", i).isNotNull();
+            assertThat(log.getNoteContent()).isNull();
+            assertThat(log.getBlobRef()).isNull();
+            NoteHistory.Content content = history.reconstruct(log.getRevisionId()).orElseThrow();
+            assertThat(content.text()).as("log %d", i).isEqualTo(contents.get(i));
+            assertThat(content.blobRef()).isEqualTo(blobRefs.get(i));
+        }
+        assertThat(rows.values()).anyMatch(revision -> revision.getBaseId() != null);
+        assertThat(rows.values().stream().filter(revision -> revision.getBaseId() == null).count()).isGreaterThan(2);
+    }
+
+    // 아직 이전 안된 로그를 id 순으로 limit 개씩
+    private static AuditLogRepository auditLogRepository(List<AuditLog> logs) {
+        AuditLogRepository repository = mock(AuditLogRepository.class);
+        when(repository.findLegacyContentNoteIds()).thenReturn(List.of(NOTE_ID));
+        when(repository.findLegacyContentAfter(eq(NOTE_ID), anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(1);
+            Limit limit = invocation.getArgument(2);
+            return logs.stream()
+                    .filter(log -> log.getId() > afterId && log.getRevisionId() == null)
+                    .limit(limit.max())
+                    .toList();
+        });
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        return repository;
+    }
+
+    private static PlatformTransactionManager transactionManager() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        return transactionManager;
+    }
+
+    private static NoteHistory newHistory(NoteRevisionRepository repository) {
+        NoteHistory history = new NoteHistory();
+        ReflectionTestUtils.setField(history, "snapshotInterval", 32);
+        ReflectionTestUtils.setField(history, "headCacheMaxBytes", 1L << 20);
+        ReflectionTestUtils.setField(history, "revisionRepository", repository);
+        history.init();
+        return history;
+    }
+
+    private static NoteRevisionRepository revisionRepository(Map<Long, NoteRevision> rows) {
+        NoteRevisionRepository repository = mock(NoteRevisionRepository.class);
+        AtomicLong ids = new AtomicLong();
+        when(repository.save(any(NoteRevision.class))).thenAnswer(invocation -> {
+            NoteRevision revision = invocation.getArgument(0);
+            revision.setId(ids.incrementAndGet());
+            rows.put(revision.getId(), revision);
+            return revision;
+        });
+        when(repository.findById(anyLong())).thenAnswer(invocation ->
+                Optional.ofNullable(rows.get(invocation.<Long>getArgument(0))));
+        when(repository.findChain(anyLong(), anyInt())).thenAnswer(invocation -> {
+            Long snapshotId = invocation.getArgument(0);
+            int depth = invocation.getArgument(1);
+            return rows.values().stream()
+                    .filter(revision -> revision.getId().equals(snapshotId)
+                            || (snapshotId.equals(revision.getSnapshotId()) && revision.getDepth() <= depth))
+                    .toList();
+        });
+        return repository;
+    }
+}
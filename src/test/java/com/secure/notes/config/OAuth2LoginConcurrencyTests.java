@@ -0,0 +1,113 @@
+package com.secure.notes.config;
+
+import com.secure.notes.repositories.UserRepository;
+import com.secure.notes.security.jwt.JwtUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 깃허브/구글 콜백 수백개를 동시에 처리해도 유저가 섞이거나 중복 가입되지 않는지 (application.properties 의 MySQL 필요)
+@SpringBootTest
+class OAuth2LoginConcurrencyTests {
+
+    private static final int USERS = 50;
+    private static final int CALLBACKS_PER_USER = 4;
+
+    @Autowired
+    OAuth2LoginSuccessHandler successHandler;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    JwtUtils jwtUtils;
+
+    private final String prefix = "oc" + Long.toString(System.nanoTime() % 1_000_000_000L, 36);
+
+    @AfterEach
+    void cleanUp() {
+        for (int i = 0; i < USERS; i++) {
+            userRepository.findByEmail(email(i)).ifPresent(user -> userRepository.delete(user));
+        }
+    }
+
+    @Test
+    void parallelCallbacksIssueTokensForTheRightUser() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch ready = new CountDownLatch(1);
+        Map<Future<String>, String> expectedUsernames = new HashMap<>();
+        try {
+            for (int round = 0; round < CALLBACKS_PER_USER; round++) {
+                for (int i = 0; i < USERS; i++) {
+                    int index = i;
+                    boolean github = i % 2 == 0;
+                    String username = github ? prefix + "g" + i : email(i).split("@")[0];
+                    Future<String> future = pool.submit(() -> {
+                        ready.await();
+                        try {
+                            return callback(github, index);
+                        } finally {
+                            SecurityContextHolder.clearContext();
+                        }
+                    });
+                    expectedUsernames.put(future, username);
+                }
+            }
+            ready.countDown();
+
+            for (Map.Entry<Future<String>, String> entry : expectedUsernames.entrySet()) {
+                String redirectUrl = entry.getKey().get(60, TimeUnit.SECONDS);
+                String token = UriComponentsBuilder.fromUriString(redirectUrl).build()
+                        .getQueryParams().getFirst("token");
+                assertThat(jwtUtils.getUserNameFromJwtToken(token)).isEqualTo(entry.getValue());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (int i = 0; i < USERS; i++) {
+            assertThat(userRepository.findByEmail(email(i))).isPresent();
+        }
+    }
+
+    private String callback(boolean github, int index) throws Exception {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("email", email(index));
+        attributes.put("name", "User " + index);
+        String nameAttributeKey;
+        if (github) {
+            attributes.put("id", index);
+            attributes.put("login", prefix + "g" + index);
+            nameAttributeKey = "id";
+        } else {
+            attributes.put("sub", "sub-" + index);
+            nameAttributeKey = "sub";
+        }
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("OAUTH2_USER"));
+        OAuth2AuthenticationToken authentication = new OAuth2AuthenticationToken(
+                new DefaultOAuth2User(authorities, attributes, nameAttributeKey),
+                authorities,
+                github ? "github" : "google");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        successHandler.onAuthenticationSuccess(new MockHttpServletRequest(), response, authentication);
+        return response.getRedirectedUrl();
+    }
+
+    private String email(int index) {
+        return prefix + "u" + index + "@example.com";
+    }
+}
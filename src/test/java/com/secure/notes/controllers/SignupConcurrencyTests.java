@@ -0,0 +1,110 @@
+package com.secure.notes.controllers;
+
+import com.secure.notes.repositories.UserRepository;
+import com.secure.notes.security.request.SignupRequest;
+import com.secure.notes.security.response.MessageResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 동시 회원가입 부하 테스트 (application.properties 의 MySQL 필요)
+@SpringBootTest(properties = {
+        "spring.app.bcrypt.strength=4",
+        "spring.app.passwordHash.queueCapacity=1000"
+})
+class SignupConcurrencyTests {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    AuthController authController;
+
+    @Autowired
+    UserRepository userRepository;
+
+    private final String prefix = "sc" + Long.toString(System.nanoTime() % 1_000_000_000L, 36);
+    private final List<String> createdUsernames = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        for (String username : createdUsernames) {
+            userRepository.findByUserName(username).ifPresent(userRepository::delete);
+        }
+    }
+
+    @Test
+    void sameUsernameRaceCreatesExactlyOneAccount() throws Exception {
+        String username = prefix + "dup";
+        createdUsernames.add(username);
+
+        List<ResponseEntity<?>> responses = runConcurrently(THREADS, i -> authController.registerUser(
+                signupRequest(username, prefix + i + "@example.com")));
+
+        long succeeded = responses.stream().filter(r -> r.getStatusCode().is2xxSuccessful()).count();
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(responses).filteredOn(r -> r.getStatusCode().is4xxClientError())
+                .allSatisfy(r -> assertThat(((MessageResponse) r.getBody()).getMessage())
+                        .isEqualTo("Error: Username is already taken!"));
+        assertThat(userRepository.existsByUserName(username)).isTrue();
+    }
+
+    @Test
+    void sameEmailRaceCreatesExactlyOneAccount() throws Exception {
+        String email = prefix + "dup@example.com";
+
+        List<ResponseEntity<?>> responses = runConcurrently(THREADS, i -> {
+            createdUsernames.add(prefix + "e" + i);
+            return authController.registerUser(signupRequest(prefix + "e" + i, email));
+        });
+
+        long succeeded = responses.stream().filter(r -> r.getStatusCode().is2xxSuccessful()).count();
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(responses).filteredOn(r -> r.getStatusCode().is4xxClientError())
+                .allSatisfy(r -> assertThat(((MessageResponse) r.getBody()).getMessage())
+                        .isEqualTo("Error: Email is already in use!"));
+    }
+
+    private List<ResponseEntity<?>> runConcurrently(int tasks, IntTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(1);
+        try {
+            List<Future<ResponseEntity<?>>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                futures.add(pool.submit(() -> {
+                    ready.await();
+                    return task.run(index);
+                }));
+            }
+            ready.countDown();
+            List<ResponseEntity<?>> responses = new ArrayList<>();
+            for (Future<ResponseEntity<?>> future : futures) {
+                responses.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return responses;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static SignupRequest signupRequest(String username, String email) {
+        SignupRequest request = new SignupRequest();
+        request.setUsername(username);
+        request.setEmail(email);
+        request.setPassword("password1");
+        return request;
+    }
+
+    @FunctionalInterface
+    private interface IntTask {
+        ResponseEntity<?> run(int index) throws Exception;
+    }
+}
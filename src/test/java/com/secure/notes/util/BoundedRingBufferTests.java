@@ -0,0 +1,137 @@
+package com.secure.notes.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 감사로그 큐 테스트 (가득 참/빔, 한바퀴 돌기, 여러 스레드가 넣을때 유실/중복 없음)
+class BoundedRingBufferTests {
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        assertThat(new BoundedRingBuffer<Integer>(1).capacity()).isEqualTo(2);
+        assertThat(new BoundedRingBuffer<Integer>(5).capacity()).isEqualTo(8);
+        assertThat(new BoundedRingBuffer<Integer>(8).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    void offerFailsWhenFullAndDrainFailsWhenEmpty() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        List<Integer> out = new ArrayList<>();
+        assertThat(buffer.drainTo(out, 10)).isZero();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        assertThat(buffer.drainTo(out, 10)).isEqualTo(4);
+        assertThat(out).containsExactly(0, 1, 2, 3);
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.drainTo(out, 10)).isZero();
+        assertThat(buffer.offer(5)).isTrue();
+    }
+
+    @Test
+    void drainStopsAtMax() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> out = new ArrayList<>();
+        assertThat(buffer.drainTo(out, 2)).isEqualTo(2);
+        assertThat(out).containsExactly(0, 1);
+        assertThat(buffer.size()).isEqualTo(3);
+    }
+
+    @Test
+    void keepsOrderAcrossManyWraparounds() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        List<Integer> out = new ArrayList<>();
+        int next = 0;
+        int expected = 0;
+        for (int lap = 0; lap < 1000; lap++) {
+            // 매번 다른 개수를 넣고 꺼내서 시작 위치가 계속 바뀌게
+            int count = lap % 4 + 1;
+            for (int i = 0; i < count; i++) {
+                assertThat(buffer.offer(next++)).isTrue();
+            }
+            if (count == 4) {
+                assertThat(buffer.offer(-1)).isFalse();
+            }
+            out.clear();
+            assertThat(buffer.drainTo(out, count)).isEqualTo(count);
+            for (Integer value : out) {
+                assertThat(value).isEqualTo(expected++);
+            }
+        }
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    @Timeout(60)
+    void concurrentProducersLoseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();     // 가득 참, 꺼낼때까지 양보
+                    }
+                }
+                return null;
+            }));
+        }
+
+        BitSet seen = new BitSet(producers * perProducer);
+        int[] lastPerProducer = new int[producers];
+        Arrays.fill(lastPerProducer, -1);
+        List<Integer> out = new ArrayList<>();
+        int received = 0;
+        start.countDown();
+        while (received < producers * perProducer) {
+            out.clear();
+            if (buffer.drainTo(out, 32) == 0) {
+                Thread.yield();
+                continue;
+            }
+            for (int value : out) {
+                assertThat(seen.get(value)).as("duplicate %d", value).isFalse();
+                seen.set(value);
+                // 한 스레드가 넣은 순서는 유지
+                int producer = value / perProducer;
+                assertThat(value).isGreaterThan(lastPerProducer[producer]);
+                lastPerProducer[producer] = value;
+            }
+            received += out.size();
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(seen.cardinality()).isEqualTo(producers * perProducer);
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.drainTo(out, 1)).isZero();
+    }
+}
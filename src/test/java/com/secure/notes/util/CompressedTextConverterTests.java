@@ -0,0 +1,86 @@
+package com.secure.notes.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.secure.notes.util.CompressedTextConverter.COMPRESS_THRESHOLD;
+import static com.secure.notes.util.CompressedTextConverter.decode;
+import static com.secure.notes.util.CompressedTextConverter.encode;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 압축 저장 형식 왕복 테스트 (DB 없이 실행)
+class CompressedTextConverterTests {
+
+    @Test
+    void shortTextIsStoredAsIs() {
+        String text = "a".repeat(COMPRESS_THRESHOLD - 1);
+        assertThat(encode(text)).isEqualTo(text);
+        assertThat(decode(encode(text))).isEqualTo(text);
+    }
+
+    @Test
+    void textAtThresholdIsCompressed() {
+        String text = "a".repeat(COMPRESS_THRESHOLD);
+        String stored = encode(text);
+        assertThat(stored).startsWith("\u0001D").hasSizeLessThan(text.length());
+        assertThat(decode(stored)).isEqualTo(text);
+    }
+
+    @Test
+    void multiByteTextRoundTrips() {
+        String text = "한글 노트 내용 😀 ".repeat(200);
+        assertThat(encode(text)).startsWith("\u0001D");
+        assertThat(decode(encode(text))).isEqualTo(text);
+    }
+
+    @Test
+    void textStartingWithMarkerIsEscaped() {
+        String text = "\u0001 starts with the marker";
+        String stored = encode(text);
+        assertThat(stored).isEqualTo("\u0001R" + text);
+        assertThat(decode(stored)).isEqualTo(text);
+    }
+
+    @Test
+    void textThatLooksLikeAnEncodedValueRoundTrips() {
+        for (String text : new String[]{"\u0001R", "\u0001Rabc", "\u0001D", "\u0001DYWJj", "\u0001"}) {
+            assertThat(decode(encode(text))).isEqualTo(text);
+        }
+    }
+
+    @Test
+    void incompressibleTextIsStoredRaw() {
+        String text = randomText(new Random(42), COMPRESS_THRESHOLD * 4);
+        assertThat(encode(text)).isEqualTo(text);
+        assertThat(decode(encode(text))).isEqualTo(text);
+
+        String marked = "\u0001" + text;
+        assertThat(encode(marked)).isEqualTo("\u0001R" + marked);
+        assertThat(decode(encode(marked))).isEqualTo(marked);
+    }
+
+    @Test
+    void legacyRowsWithoutHeaderAreReadAsIs() {
+        assertThat(decode("plain old note")).isEqualTo("plain old note");
+        assertThat(decode("x".repeat(COMPRESS_THRESHOLD * 2))).isEqualTo("x".repeat(COMPRESS_THRESHOLD * 2));
+        assertThat(decode("")).isEmpty();
+        assertThat(decode(null)).isNull();
+        assertThat(encode(null)).isNull();
+    }
+
+    @Test
+    void emptyTextRoundTrips() {
+        assertThat(encode("")).isEmpty();
+        assertThat(decode(encode(""))).isEmpty();
+    }
+
+    // 여러 유니코드 블록에서 고른 글자 (반복이 거의 없어 압축되지 않음)
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.appendCodePoint(0x4E00 + random.nextInt(0x5000));
+        }
+        return text.toString();
+    }
+}
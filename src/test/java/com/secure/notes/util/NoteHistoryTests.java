@@ -0,0 +1,237 @@
+package com.secure.notes.util;
+
+import com.secure.notes.models.Note;
+import com.secure.notes.models.NoteRevision;
+import com.secure.notes.repositories.NoteRevisionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 노트 이력(스냅샷 + 델타) 저장/복원 테스트 (리비전 저장소는 메모리 Map, DB 없이 실행)
+class NoteHistoryTests {
+
+    private static final long NOTE_ID = 1L;
+    private static final int SNAPSHOT_INTERVAL = 4;
+
+    private final Map<Long, NoteRevision> rows = new HashMap<>();
+    private NoteHistory history;
+
+    @BeforeEach
+    void setUp() {
+        history = newHistory(revisionRepository(rows), SNAPSHOT_INTERVAL);
+    }
+
+    @Test
+    void everyRevisionOfRandomEditsIsReconstructed() {
+        Random random = new Random(7);
+        String[] alphabet = {"a", "b", " ", "한", "글", "😀", "😁", "\n"};
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            tokens.add(alphabet[random.nextInt(alphabet.length)]);
+        }
+        List<String> originals = new ArrayList<>();
+        List<Long> revisionIds = new ArrayList<>();
+        NoteHistory.Head head = null;
+        for (int edit = 0; edit < 200; edit++) {
+            // 글자(코드포인트) 단위로 지우고 넣기 (원문에 반쪽 서로게이트가 생기지 않게)
+            int at = random.nextInt(tokens.size() + 1);
+            int remove = Math.min(random.nextInt(4), tokens.size() - at);
+            for (int i = 0; i < remove; i++) {
+                tokens.remove(at);
+            }
+            int insert = random.nextInt(4);
+            for (int i = 0; i < insert; i++) {
+                tokens.add(at, alphabet[random.nextInt(alphabet.length)]);
+            }
+            String text = String.join("", tokens);
+            head = history.append(NOTE_ID, text, null, LocalDateTime.now(), head);
+            originals.add(text);
+            revisionIds.add(head.revisionId());
+        }
+
+        for (int i = 0; i < revisionIds.size(); i++) {
+            assertThat(text(revisionIds.get(i))).as("revision %d", i).isEqualTo(originals.get(i));
+        }
+        assertThat(rows.values()).anyMatch(revision -> revision.getBaseId() != null);
+    }
+
+    @Test
+    void prefixAndSuffixMayOverlap() {
+        assertReconstructed("aaaa", "aaaaa", "aaa", "abab", "ab", "abcabc", "abc", "", "x", "");
+    }
+
+    @Test
+    void deltaDoesNotSplitSurrogatePairAtPrefix() {
+        NoteHistory.Head base = history.append(NOTE_ID, "note 😀 end", null, LocalDateTime.now(), null);
+        NoteHistory.Head next = history.append(NOTE_ID, "note 😁 end", null, LocalDateTime.now(), base);
+
+        NoteRevision delta = rows.get(next.revisionId());
+        assertThat(delta.getBaseId()).isEqualTo(base.revisionId());
+        assertThat(delta.getPrefixLength()).isEqualTo(5);
+        assertThat(delta.getText()).isEqualTo("😁");
+        assertThat(text(next.revisionId())).isEqualTo("note 😁 end");
+    }
+
+    @Test
+    void deltaDoesNotSplitSurrogatePairAtSuffix() {
+        NoteHistory.Head base = history.append(NOTE_ID, "xx😀yy", null, LocalDateTime.now(), null);
+        NoteHistory.Head next = history.append(NOTE_ID, "xx🨀yy", null, LocalDateTime.now(), base);
+
+        NoteRevision delta = rows.get(next.revisionId());
+        assertThat(delta.getBaseId()).isEqualTo(base.revisionId());
+        assertThat(delta.getSuffixLength()).isEqualTo(2);
+        assertThat(delta.getText()).isEqualTo("🨀");
+        assertThat(text(next.revisionId())).isEqualTo("xx🨀yy");
+    }
+
+    @Test
+    void concurrentEditsFromSameBaseBranch() {
+        String original = "shared first line\nshared second line\n";
+        NoteHistory.Head base = history.append(NOTE_ID, original, null, LocalDateTime.now(), null);
+        NoteHistory.Head left = history.append(NOTE_ID, original + "left\n", null, LocalDateTime.now(), base);
+        NoteHistory.Head right = history.append(NOTE_ID, "RIGHT " + original, null, LocalDateTime.now(), base);
+        NoteHistory.Head leftAgain = history.append(NOTE_ID, original + "left again\n", null, LocalDateTime.now(), left);
+
+        assertThat(rows.get(left.revisionId()).getBaseId()).isEqualTo(base.revisionId());
+        assertThat(rows.get(right.revisionId()).getBaseId()).isEqualTo(base.revisionId());
+        assertThat(left.depth()).isEqualTo(right.depth());
+        assertThat(text(base.revisionId())).isEqualTo(original);
+        assertThat(text(left.revisionId())).isEqualTo(original + "left\n");
+        assertThat(text(right.revisionId())).isEqualTo("RIGHT " + original);
+        assertThat(text(leftAgain.revisionId())).isEqualTo(original + "left again\n");
+    }
+
+    @Test
+    void snapshotIsWrittenEverySnapshotInterval() {
+        List<Integer> depths = new ArrayList<>();
+        List<Long> revisionIds = new ArrayList<>();
+        NoteHistory.Head head = null;
+        String text = "a line that stays the same for every revision ";
+        for (int i = 0; i < SNAPSHOT_INTERVAL * 2 + 1; i++) {
+            head = history.append(NOTE_ID, text + i, null, LocalDateTime.now(), head);
+            depths.add(head.depth());
+            revisionIds.add(head.revisionId());
+        }
+
+        assertThat(depths).containsExactly(0, 1, 2, 3, 0, 1, 2, 3, 0);
+        assertThat(rows.get(revisionIds.get(4)).getBaseId()).isNull();
+        assertThat(rows.get(revisionIds.get(5)).getSnapshotId()).isEqualTo(revisionIds.get(4));
+        for (int i = 0; i < revisionIds.size(); i++) {
+            assertThat(text(revisionIds.get(i))).isEqualTo(text + i);
+        }
+    }
+
+    @Test
+    void mostlyRewrittenContentIsStoredAsSnapshot() {
+        NoteHistory.Head base = history.append(NOTE_ID, "the old content", null, LocalDateTime.now(), null);
+        NoteHistory.Head next = history.append(NOTE_ID, "something else entirely", null, LocalDateTime.now(), base);
+
+        assertThat(rows.get(next.revisionId()).getBaseId()).isNull();
+        assertThat(text(next.revisionId())).isEqualTo("something else entirely");
+    }
+
+    @Test
+    void recordUsesCachedHeadAndRestartsAfterBlob() {
+        Note note = new Note();
+        note.setId(NOTE_ID);
+        note.setContent("first version of the note");
+        long first = history.record(List.of(note)).get(0);
+
+        note.setContent("first version of the note, edited");
+        long second = history.record(List.of(note)).get(0);
+        assertThat(rows.get(second).getBaseId()).isEqualTo(first);
+
+        String blobRef = "a".repeat(64);
+        note.setContent(null);
+        note.setBlobRef(blobRef);
+        long blob = history.record(List.of(note)).get(0);
+
+        note.setContent("back to text");
+        note.setBlobRef(null);
+        long third = history.record(List.of(note)).get(0);
+
+        assertThat(text(first)).isEqualTo("first version of the note");
+        assertThat(text(second)).isEqualTo("first version of the note, edited");
+        assertThat(history.reconstruct(blob)).contains(new NoteHistory.Content(null, blobRef));
+        assertThat(rows.get(third).getBaseId()).isNull();
+        assertThat(text(third)).isEqualTo("back to text");
+    }
+
+    @Test
+    void unknownRevisionIsEmpty() {
+        assertThat(history.reconstruct(404L)).isEmpty();
+    }
+
+    private void assertReconstructed(String... versions) {
+        NoteHistory.Head head = null;
+        List<Long> revisionIds = new ArrayList<>();
+        for (String version : versions) {
+            head = history.append(NOTE_ID, version, null, LocalDateTime.now(), head);
+            revisionIds.add(head.revisionId());
+        }
+        for (int i = 0; i < versions.length; i++) {
+            assertThat(text(revisionIds.get(i))).as("revision %d", i).isEqualTo(versions[i]);
+        }
+    }
+
+    private String text(long revisionId) {
+        return history.reconstruct(revisionId).map(NoteHistory.Content::text).orElseThrow();
+    }
+
+    static NoteHistory newHistory(NoteRevisionRepository repository, int snapshotInterval) {
+        NoteHistory history = new NoteHistory();
+        ReflectionTestUtils.setField(history, "snapshotInterval", snapshotInterval);
+        ReflectionTestUtils.setField(history, "headCacheMaxBytes", 1L << 20);
+        ReflectionTestUtils.setField(history, "revisionRepository", repository);
+        history.init();
+        return history;
+    }
+
+    // id 를 차례로 붙여 Map 에 저장하는 리비전 저장소
+    static NoteRevisionRepository revisionRepository(Map<Long, NoteRevision> rows) {
+        NoteRevisionRepository repository = mock(NoteRevisionRepository.class);
+        AtomicLong ids = new AtomicLong();
+        when(repository.save(any(NoteRevision.class))).thenAnswer(invocation -> {
+            NoteRevision revision = invocation.getArgument(0);
+            revision.setId(ids.incrementAndGet());
+            rows.put(revision.getId(), revision);
+            return revision;
+        });
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<NoteRevision> revisions = invocation.getArgument(0);
+            for (NoteRevision revision : revisions) {
+                revision.setId(ids.incrementAndGet());
+                rows.put(revision.getId(), revision);
+            }
+            return revisions;
+        });
+        when(repository.findById(anyLong())).thenAnswer(invocation ->
+                Optional.ofNullable(rows.get(invocation.<Long>getArgument(0))));
+        when(repository.findChain(anyLong(), anyInt())).thenAnswer(invocation -> {
+            Long snapshotId = invocation.getArgument(0);
+            int depth = invocation.getArgument(1);
+            return rows.values().stream()
+                    .filter(revision -> revision.getId().equals(snapshotId)
+                            || (snapshotId.equals(revision.getSnapshotId()) && revision.getDepth() <= depth))
+                    .toList();
+        });
+        return repository;
+    }
+}